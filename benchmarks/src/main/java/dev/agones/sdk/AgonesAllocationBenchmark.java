@@ -0,0 +1,82 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of the highest-frequency calls, meant to be run with the gc profiler:
+ * {@code java -jar target/benchmarks.jar AgonesAllocationBenchmark -prof gc}
+ * and compared through {@literal gc.alloc.rate.norm}, in bytes per operation.
+ * <p>
+ * The in-process transport runs on direct executors, so every call completes before returning
+ * and the measured allocation includes the fake sidecar side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesAllocationBenchmark {
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+
+    @Setup
+    public void setup() throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        this.sdk = AgonesSDK.builder()
+                .channel(this.channel)
+                .metrics(AgonesMetrics.noop())
+                .build();
+
+        // Opens the health stream outside of the measurement
+        this.sdk.health();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.channel.shutdownNow();
+        this.sidecar.close();
+    }
+
+    @Benchmark
+    public void health() {
+        this.sdk.health();
+    }
+
+    @Benchmark
+    public Void setLabelTracked() {
+        return this.sdk.setLabel("map", "de_inferno").join();
+    }
+
+    @Benchmark
+    public void setLabelUntracked() {
+        this.sdk.untracked().setLabel("map", "de_inferno");
+    }
+
+    @Benchmark
+    public Void reserveTracked() {
+        return this.sdk.reserve(30).join();
+    }
+
+    @Benchmark
+    public void reserveUntracked() {
+        this.sdk.untracked().reserve(30);
+    }
+}
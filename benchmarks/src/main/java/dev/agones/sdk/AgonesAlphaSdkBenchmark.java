@@ -0,0 +1,120 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of every {@link AgonesAlphaSDK} method against an in-process sidecar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesAlphaSdkBenchmark {
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesAlphaSDK alpha;
+    private final List<String> lobby = new ArrayList<>();
+
+    @Setup
+    public void setup() throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        this.alpha = AgonesSDK.builder().channel(this.channel).build().alpha();
+
+        for (int i = 0; i < 10; i++) {
+            this.alpha.playerConnect("player-" + i).join();
+        }
+
+        for (int i = 0; i < 64; i++) {
+            this.lobby.add("lobby-player-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.channel.shutdownNow();
+        this.sidecar.close();
+    }
+
+    /**
+     * Connect followed by disconnect, so the player list keeps a constant size
+     */
+    @Benchmark
+    public Boolean playerConnectDisconnect() {
+        this.alpha.playerConnect("benchmark-player").join();
+
+        return this.alpha.playerDisconnect("benchmark-player").join();
+    }
+
+    /**
+     * A 64 players lobby handed to the match one call at a time, then removed the same way
+     */
+    @Benchmark
+    public Boolean lobbyHandoffSequential() {
+        for (String playerId : this.lobby) {
+            this.alpha.playerConnect(playerId).join();
+        }
+
+        Boolean disconnected = null;
+        for (String playerId : this.lobby) {
+            disconnected = this.alpha.playerDisconnect(playerId).join();
+        }
+
+        return disconnected;
+    }
+
+    /**
+     * Same lobby handoff with the pipelined bulk calls
+     */
+    @Benchmark
+    public Map<String, AgonesPlayerResult> lobbyHandoffBulk() {
+        this.alpha.playerConnectAll(this.lobby).join();
+
+        return this.alpha.playerDisconnectAll(this.lobby).join();
+    }
+
+    @Benchmark
+    public Void setPlayerCapacity() {
+        return this.alpha.setPlayerCapacity(10).join();
+    }
+
+    @Benchmark
+    public Long getPlayerCapacity() {
+        return this.alpha.getPlayerCapacity().join();
+    }
+
+    @Benchmark
+    public Long getPlayerCount() {
+        return this.alpha.getPlayerCount().join();
+    }
+
+    @Benchmark
+    public Boolean isPlayerConnected() {
+        return this.alpha.isPlayerConnected("player-5").join();
+    }
+
+    @Benchmark
+    public List<String> getConnectedPlayers() {
+        return this.alpha.getConnectedPlayers().join();
+    }
+}
@@ -0,0 +1,68 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.alpha.Alpha;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link AgonesMappers} and {@link AgonesFuture} used by every call, without any transport.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation per event of the eager and lazy Game Server mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesMapperBenchmark {
+
+    private final Sdk.GameServer gameServer = BenchmarkFixtures.GAME_SERVER;
+    private final Alpha.Bool bool = Alpha.Bool.newBuilder().setBool(true).build();
+
+    @Benchmark
+    public String eagerMapperReadState() {
+        return AgonesMappers.EAGER_GAME_SERVER_MAPPER.apply(this.gameServer).getStatus().getState();
+    }
+
+    @Benchmark
+    public String lazyMapperReadState() {
+        return AgonesMappers.GAME_SERVER_MAPPER.apply(this.gameServer).getStatus().getState();
+    }
+
+    @Benchmark
+    public void eagerMapperReadAll(Blackhole blackhole) {
+        readAll(AgonesMappers.EAGER_GAME_SERVER_MAPPER.apply(this.gameServer), blackhole);
+    }
+
+    @Benchmark
+    public void lazyMapperReadAll(Blackhole blackhole) {
+        readAll(AgonesMappers.GAME_SERVER_MAPPER.apply(this.gameServer), blackhole);
+    }
+
+    @Benchmark
+    public Boolean futureComplete() {
+        AgonesFuture<Boolean, Alpha.Bool> future = new AgonesFuture<>(AgonesMappers.ALPHA_BOOL_MAPPER);
+        future.onNext(this.bool);
+
+        return future.join();
+    }
+
+    private static void readAll(AgonesGameServer gameServer, Blackhole blackhole) {
+        blackhole.consume(gameServer.getObjectMeta().getResourceVersion());
+        blackhole.consume(gameServer.getObjectMeta().getLabels());
+        blackhole.consume(gameServer.getSpec().getHealth().getPeriodSeconds());
+        blackhole.consume(gameServer.getStatus().getPorts());
+        blackhole.consume(gameServer.getStatus().getPlayers().getIds());
+    }
+}
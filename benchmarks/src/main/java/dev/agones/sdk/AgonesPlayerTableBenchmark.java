@@ -0,0 +1,80 @@
+package dev.agones.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player join and leave bookkeeping of a full 100 player server with constant reconnects,
+ * with interned handles and with a set of strings.
+ * <p>
+ * Run with {@code -prof gc}: the handle version should not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesPlayerTableBenchmark {
+
+    private static final int PLAYERS = 100;
+
+    private final String[] ids = new String[PLAYERS * 2];
+
+    private final AgonesPlayerTable table = new AgonesPlayerTable(PLAYERS);
+    private final AgonesIntSet connected = new AgonesIntSet(PLAYERS);
+    private final Set<String> strings = new HashSet<>();
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < this.ids.length; i++) {
+            this.ids[i] = "player-" + i;
+        }
+
+        for (int i = 0; i < PLAYERS; i++) {
+            this.connected.add(this.table.intern(this.ids[i]));
+            this.strings.add(this.ids[i]);
+        }
+    }
+
+    /**
+     * The oldest player leaves and a new one joins
+     */
+    @Benchmark
+    public boolean handleReconnect() {
+        String leaving = this.ids[this.next];
+        String joining = this.ids[(this.next + PLAYERS) % this.ids.length];
+        this.next = (this.next + 1) % this.ids.length;
+
+        this.connected.remove(this.table.release(leaving));
+        this.connected.add(this.table.intern(joining));
+
+        return this.connected.contains(this.table.find(joining));
+    }
+
+    @Benchmark
+    public boolean stringReconnect() {
+        String leaving = this.ids[this.next];
+        String joining = this.ids[(this.next + PLAYERS) % this.ids.length];
+        this.next = (this.next + 1) % this.ids.length;
+
+        this.strings.remove(leaving);
+        this.strings.add(joining);
+
+        return this.strings.contains(joining);
+    }
+}
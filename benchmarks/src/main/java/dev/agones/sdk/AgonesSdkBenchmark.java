@@ -0,0 +1,86 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of every {@link AgonesSDK} method against an in-process sidecar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesSdkBenchmark {
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+
+    @Setup
+    public void setup() throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        this.sdk = AgonesSDK.builder().channel(this.channel).build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.channel.shutdownNow();
+        this.sidecar.close();
+    }
+
+    @Benchmark
+    public Void ready() {
+        return this.sdk.ready().join();
+    }
+
+    @Benchmark
+    public Void allocate() {
+        return this.sdk.allocate().join();
+    }
+
+    @Benchmark
+    public Void shutdown() {
+        return this.sdk.shutdown().join();
+    }
+
+    @Benchmark
+    public Void reserve() {
+        return this.sdk.reserve(30).join();
+    }
+
+    @Benchmark
+    public Void setLabel() {
+        return this.sdk.setLabel("map", "de_inferno").join();
+    }
+
+    @Benchmark
+    public Void setAnnotation() {
+        return this.sdk.setAnnotation("score", "{\"ct\":8,\"t\":5}").join();
+    }
+
+    @Benchmark
+    public AgonesGameServer getGameServer() {
+        return this.sdk.getGameServer().join();
+    }
+
+    @Benchmark
+    public void health() {
+        this.sdk.health();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of delivering one Game Server update to every watcher
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgonesWatchBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int watchers;
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private final AtomicLong delivered = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        AgonesSDK sdk = AgonesSDK.builder().channel(this.channel).build();
+
+        for (int i = 0; i < this.watchers; i++) {
+            sdk.watchGameServer((gameServer, error) -> {
+                if (gameServer != null) {
+                    gameServer.getStatus().getState();
+                    this.delivered.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.channel.shutdownNow();
+        this.sidecar.close();
+    }
+
+    @Benchmark
+    public long fanOut() {
+        long target = this.delivered.get() + this.watchers;
+
+        this.sidecar.publish();
+
+        while (this.delivered.get() < target) {
+            Thread.yield();
+        }
+
+        return target;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.agones.sdk;
+
+/**
+ * Messages shared by the benchmarks
+ */
+class BenchmarkFixtures {
+
+    /**
+     * Game Server with a realistic amount of metadata, ports and players
+     */
+    static final Sdk.GameServer GAME_SERVER = Sdk.GameServer.newBuilder()
+            .setObjectMeta(Sdk.GameServer.ObjectMeta.newBuilder()
+                    .setName("benchmark-gameserver")
+                    .setNamespace("default")
+                    .setUid("00000000-0000-0000-0000-000000000000")
+                    .setResourceVersion("1")
+                    .setGeneration(1)
+                    .setCreationTimestamp(1600000000)
+                    .putLabels("map", "de_dust2")
+                    .putLabels("mode", "competitive")
+                    .putAnnotations("score", "{\"ct\":7,\"t\":5}")
+                    .build())
+            .setSpec(Sdk.GameServer.Spec.newBuilder()
+                    .setHealth(Sdk.GameServer.Spec.Health.newBuilder()
+                            .setPeriodSeconds(5)
+                            .setFailureThreshold(3)
+                            .setInitialDelaySeconds(5)
+                            .build())
+                    .build())
+            .setStatus(Sdk.GameServer.Status.newBuilder()
+                    .setState("Allocated")
+                    .setAddress("10.0.0.1")
+                    .addPorts(Sdk.GameServer.Status.Port.newBuilder().setName("game").setPort(7777).build())
+                    .addPorts(Sdk.GameServer.Status.Port.newBuilder().setName("query").setPort(27015).build())
+                    .setPlayers(Sdk.GameServer.Status.PlayerStatus.newBuilder()
+                            .setCount(2)
+                            .setCapacity(10)
+                            .addIds("player-1")
+                            .addIds("player-2")
+                            .build())
+                    .build())
+            .build();
+
+    private BenchmarkFixtures() {
+    }
+}
@@ -0,0 +1,165 @@
+package dev.agones.sdk.micrometer;
+
+import dev.agones.sdk.AgonesCallPriority;
+import dev.agones.sdk.AgonesDispatchScheduler;
+import dev.agones.sdk.AgonesMetrics;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AgonesMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters:
+ * <ul>
+ *     <li>{@literal agones.sdk.calls}: timer tagged with {@literal method} and {@literal status}</li>
+ *     <li>{@literal agones.sdk.calls.in.flight}: gauge tagged with {@literal method}</li>
+ *     <li>{@literal agones.sdk.calls.retries}: counter tagged with {@literal method}</li>
+ *     <li>{@literal agones.sdk.calls.queue.wait}: timer tagged with {@literal priority}</li>
+ *     <li>{@literal agones.sdk.calls.queued}: gauge tagged with {@literal priority},
+ *     see {@link #bindDispatchScheduler(AgonesDispatchScheduler)}</li>
+ *     <li>{@literal agones.sdk.startup}: timer of the time to ready, see {@link dev.agones.sdk.AgonesStartup}</li>
+ *     <li>{@literal agones.sdk.health.pings}: counter</li>
+ *     <li>{@literal agones.sdk.watch.events}: counter</li>
+ * </ul>
+ */
+public class MicrometerAgonesMetrics implements AgonesMetrics {
+
+    private static final Status.Code[] CODES = Status.Code.values();
+    private static final AgonesCallPriority[] PRIORITIES = AgonesCallPriority.values();
+
+    private final MeterRegistry registry;
+
+    private final Map<String, MethodMeters> methods = new ConcurrentHashMap<>();
+
+    private final Counter healthPings;
+    private final Counter watchEvents;
+    private final Timer[] queueWaits = new Timer[PRIORITIES.length];
+    private final Timer startup;
+
+    public MicrometerAgonesMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.healthPings = Counter.builder("agones.sdk.health.pings")
+                .description("Pings sent on the health stream")
+                .register(registry);
+        this.startup = Timer.builder("agones.sdk.startup")
+                .description("Time from the Agones SDK startup to the first answer of the sidecar")
+                .register(registry);
+        this.watchEvents = Counter.builder("agones.sdk.watch.events")
+                .description("Game Server updates received on watch streams")
+                .register(registry);
+
+        for (AgonesCallPriority priority : PRIORITIES) {
+            this.queueWaits[priority.ordinal()] = Timer.builder("agones.sdk.calls.queue.wait")
+                    .description("Time Agones SDK calls waited in the dispatch scheduler queue")
+                    .tag("priority", priority.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Publishes the queue depth of each priority class of {@code scheduler}
+     *
+     * @param scheduler dispatch scheduler of an SDK instance reporting to these metrics
+     */
+    public void bindDispatchScheduler(AgonesDispatchScheduler scheduler) {
+        for (AgonesCallPriority priority : PRIORITIES) {
+            Gauge.builder("agones.sdk.calls.queued", scheduler, s -> s.getQueueDepth(priority))
+                    .description("Agones SDK calls waiting in the dispatch scheduler queue")
+                    .tag("priority", priority.name())
+                    .register(this.registry);
+        }
+    }
+
+    @Override
+    public void callStarted(String method) {
+        methodMeters(method).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void callCompleted(String method, Status.Code code, long latencyNanos) {
+        MethodMeters meters = methodMeters(method);
+
+        meters.inFlight.decrementAndGet();
+        meters.timer(code).record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void callRetried(String method, int attempt) {
+        methodMeters(method).retries.increment();
+    }
+
+    @Override
+    public void callAdmitted(AgonesCallPriority priority, long waitNanos) {
+        this.queueWaits[priority.ordinal()].record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void startupCompleted(long timeToReadyNanos, int probes) {
+        this.startup.record(timeToReadyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void healthPing() {
+        this.healthPings.increment();
+    }
+
+    @Override
+    public void watchEvent() {
+        this.watchEvents.increment();
+    }
+
+    private MethodMeters methodMeters(String method) {
+        MethodMeters meters = this.methods.get(method);
+        if (meters == null) {
+            meters = this.methods.computeIfAbsent(method, MethodMeters::new);
+        }
+
+        return meters;
+    }
+
+    private class MethodMeters {
+        private final String method;
+        private final AtomicLong inFlight = new AtomicLong();
+        private final Timer[] timers = new Timer[CODES.length];
+        private final Counter retries;
+
+        private MethodMeters(String method) {
+            this.method = method;
+            this.retries = Counter.builder("agones.sdk.calls.retries")
+                    .description("Retried and hedged Agones SDK call attempts")
+                    .tag("method", method)
+                    .register(registry);
+
+            Gauge.builder("agones.sdk.calls.in.flight", this.inFlight, AtomicLong::get)
+                    .description("Agones SDK calls in flight")
+                    .tag("method", method)
+                    .register(registry);
+        }
+
+        private Timer timer(Status.Code code) {
+            Timer timer = this.timers[code.ordinal()];
+            if (timer == null) {
+                // Registering twice returns the same timer, so racing threads are harmless
+                timer = Timer.builder("agones.sdk.calls")
+                        .description("Agones SDK call latency")
+                        .tag("method", this.method)
+                        .tag("status", code.name())
+                        .publishPercentileHistogram()
+                        .register(registry);
+                this.timers[code.ordinal()] = timer;
+            }
+
+            return timer;
+        }
+    }
+}
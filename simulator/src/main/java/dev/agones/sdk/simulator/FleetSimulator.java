@@ -0,0 +1,259 @@
+package dev.agones.sdk.simulator;
+
+import dev.agones.sdk.AgonesMetricsRecorder;
+import dev.agones.sdk.AgonesTransport;
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs many {@link dev.agones.sdk.AgonesSDK} instances in one JVM, each against its own {@link FakeAgonesSidecar},
+ * sharing a single {@link AgonesTransport} and metrics recorder.
+ * <p>
+ * Usage: {@code java -jar target/simulator.jar --instances=2000 --cycles=5 --players=8 [--tcp] [--health]
+ * [--event-loop-threads=2] [--scheduler-threads=1] [--timeout=300]}
+ */
+public class FleetSimulator {
+
+    /**
+     * Simulation settings
+     */
+    public static class Options {
+        int instances = 1000;
+        int cycles = 5;
+        int players = 8;
+        boolean tcp;
+        boolean healthChecking;
+        int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+        int schedulerThreads = 1;
+        long timeoutSeconds = 300;
+
+        /**
+         * @param instances number of simulated Game Servers
+         * @return these options
+         */
+        public Options instances(int instances) {
+            this.instances = instances;
+            return this;
+        }
+
+        /**
+         * @param cycles number of allocation cycles run by each Game Server
+         * @return these options
+         */
+        public Options cycles(int cycles) {
+            this.cycles = cycles;
+            return this;
+        }
+
+        /**
+         * @param players number of players joining and leaving in each cycle,
+         *                at most {@value FakeAgonesSidecar#DEFAULT_PLAYER_CAPACITY}
+         * @return these options
+         */
+        public Options players(int players) {
+            this.players = players;
+            return this;
+        }
+
+        /**
+         * @param tcp whether the sidecars listen on loopback ports instead of the in-process transport,
+         *            so the shared event loop carries the calls
+         * @return these options
+         */
+        public Options tcp(boolean tcp) {
+            this.tcp = tcp;
+            return this;
+        }
+
+        /**
+         * @param healthChecking whether every instance sends periodic health pings
+         * @return these options
+         */
+        public Options healthChecking(boolean healthChecking) {
+            this.healthChecking = healthChecking;
+            return this;
+        }
+
+        /**
+         * @param eventLoopThreads event loop thread count of the shared transport
+         * @return these options
+         */
+        public Options eventLoopThreads(int eventLoopThreads) {
+            this.eventLoopThreads = eventLoopThreads;
+            return this;
+        }
+
+        /**
+         * @param schedulerThreads scheduler thread count of the shared transport
+         * @return these options
+         */
+        public Options schedulerThreads(int schedulerThreads) {
+            this.schedulerThreads = schedulerThreads;
+            return this;
+        }
+
+        /**
+         * @param timeoutSeconds time given to every script to complete, the scripts still running then count as failed
+         * @return these options
+         */
+        public Options timeoutSeconds(long timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+            return this;
+        }
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+
+            for (String arg : args) {
+                String[] parts = arg.split("=", 2);
+                String value = parts.length > 1 ? parts[1] : null;
+
+                switch (parts[0]) {
+                    case "--instances":
+                        options.instances(Integer.parseInt(value));
+                        break;
+                    case "--cycles":
+                        options.cycles(Integer.parseInt(value));
+                        break;
+                    case "--players":
+                        options.players(Integer.parseInt(value));
+                        break;
+                    case "--tcp":
+                        options.tcp(true);
+                        break;
+                    case "--health":
+                        options.healthChecking(true);
+                        break;
+                    case "--event-loop-threads":
+                        options.eventLoopThreads(Integer.parseInt(value));
+                        break;
+                    case "--scheduler-threads":
+                        options.schedulerThreads(Integer.parseInt(value));
+                        break;
+                    case "--timeout":
+                        options.timeoutSeconds(Long.parseLong(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+
+            return options;
+        }
+    }
+
+    private final Options options;
+
+    public FleetSimulator(Options options) {
+        if (options.players > FakeAgonesSidecar.DEFAULT_PLAYER_CAPACITY) {
+            throw new IllegalArgumentException("players must be at most "
+                    + FakeAgonesSidecar.DEFAULT_PLAYER_CAPACITY + ", got " + options.players);
+        }
+
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationReport report = new FleetSimulator(Options.parse(args)).run();
+
+        System.out.print(report);
+    }
+
+    /**
+     * Starts every instance, runs their scripts concurrently and closes them
+     *
+     * @return aggregate results
+     * @throws Exception if an instance could not be started
+     */
+    public SimulationReport run() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        List<String> players = new ArrayList<>(this.options.players);
+        for (int i = 0; i < this.options.players; i++) {
+            players.add("player-" + i);
+        }
+
+        AgonesMetricsRecorder metrics = new AgonesMetricsRecorder();
+        List<SimulatedGameServer> servers = new ArrayList<>(this.options.instances);
+
+        try (AgonesTransport transport = AgonesTransport.create(
+                this.options.eventLoopThreads, this.options.schedulerThreads)) {
+            long heapBefore = usedHeap(memory);
+            threads.resetPeakThreadCount();
+
+            try {
+                for (int i = 0; i < this.options.instances; i++) {
+                    servers.add(SimulatedGameServer.create(this.options));
+                }
+
+                // The stand-in sidecars share the heap, their baseline is measured before any SDK instance exists
+                long heapWithSidecars = usedHeap(memory);
+
+                for (SimulatedGameServer server : servers) {
+                    server.connect(this.options, transport, metrics);
+                }
+
+                long start = System.nanoTime();
+
+                CompletableFuture<?>[] scripts = new CompletableFuture<?>[servers.size()];
+                for (int i = 0; i < scripts.length; i++) {
+                    scripts[i] = servers.get(i).run(this.options.cycles, players);
+                }
+
+                try {
+                    CompletableFuture.allOf(scripts).get(this.options.timeoutSeconds, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    // counted below, a single stuck instance must not hang the run
+                }
+                long durationNanos = System.nanoTime() - start;
+
+                int failed = 0;
+                int timedOut = 0;
+                for (CompletableFuture<?> script : scripts) {
+                    if (!script.isDone()) {
+                        timedOut++;
+                    } else if (script.isCompletedExceptionally()) {
+                        failed++;
+                    }
+                }
+
+                // Measured while every instance is still open, so their connections and state are retained
+                int instances = Math.max(1, servers.size());
+                long heapPerSdk = Math.max(0, usedHeap(memory) - heapWithSidecars) / instances;
+                long heapPerSidecar = Math.max(0, heapWithSidecars - heapBefore) / instances;
+
+                return new SimulationReport(
+                        servers.size(),
+                        failed + timedOut,
+                        timedOut,
+                        durationNanos,
+                        metrics.getLatencies(),
+                        metrics.getTimeToReady(),
+                        threads.getPeakThreadCount(),
+                        heapPerSdk,
+                        heapPerSidecar);
+            } finally {
+                for (SimulatedGameServer server : servers) {
+                    server.close();
+                }
+            }
+        }
+    }
+
+    private static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+        System.gc();
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
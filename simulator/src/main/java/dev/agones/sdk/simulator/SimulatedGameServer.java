@@ -0,0 +1,120 @@
+package dev.agones.sdk.simulator;
+
+import dev.agones.sdk.AgonesAlphaSDK;
+import dev.agones.sdk.AgonesMetrics;
+import dev.agones.sdk.AgonesPlayerResult;
+import dev.agones.sdk.AgonesSDK;
+import dev.agones.sdk.AgonesTransport;
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated Game Server: a stand-in sidecar and the SDK instance driving it through a scripted lifecycle
+ */
+class SimulatedGameServer {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 30;
+
+    private final FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+
+    private SimulatedGameServer(FakeAgonesSidecar sidecar) {
+        this.sidecar = sidecar;
+    }
+
+    /**
+     * Starts the stand-in sidecar only, so its heap can be told apart from the SDK instance one
+     */
+    static SimulatedGameServer create(FleetSimulator.Options options) throws IOException {
+        return new SimulatedGameServer(options.tcp ? FakeAgonesSidecar.onPort(0) : FakeAgonesSidecar.inProcess());
+    }
+
+    /**
+     * Builds the SDK instance talking to the sidecar
+     */
+    void connect(FleetSimulator.Options options, AgonesTransport transport, AgonesMetrics metrics) {
+        AgonesSDK.Builder builder = AgonesSDK.builder()
+                .transport(transport)
+                .metrics(metrics)
+                .directExecutor();
+
+        if (options.tcp) {
+            builder.port(this.sidecar.getPort());
+        } else {
+            this.channel = this.sidecar.newChannel();
+            builder.channel(this.channel);
+        }
+
+        this.sdk = builder.build();
+        if (options.healthChecking) {
+            this.sdk.startHealthChecking();
+        }
+    }
+
+    /**
+     * Waits for the SDK startup and marks the Game Server ready, then repeats {@code cycles} times: allocation, players joining,
+     * a Label update, players leaving and back to ready. Finally shuts the Game Server down.
+     *
+     * @param cycles number of allocation cycles
+     * @param players player ids joining in each cycle
+     * @return completes once the Game Server is shut down
+     */
+    CompletableFuture<Void> run(int cycles, List<String> players) {
+        AgonesAlphaSDK alpha = this.sdk.alpha();
+        CompletableFuture<Void> script = this.sdk.startup(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenStarted()
+                .thenCompose(gameServer -> this.sdk.ready());
+
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            String value = Integer.toString(cycle);
+
+            script = script
+                    .thenCompose(empty -> this.sdk.allocate())
+                    .thenCompose(empty -> alpha.playerConnectAll(players))
+                    .thenCompose(SimulatedGameServer::requireSuccess)
+                    .thenCompose(connected -> this.sdk.setLabel("cycle", value))
+                    .thenCompose(empty -> alpha.playerDisconnectAll(players))
+                    .thenCompose(SimulatedGameServer::requireSuccess)
+                    .thenCompose(disconnected -> this.sdk.ready());
+        }
+
+        return script.thenCompose(empty -> this.sdk.shutdown());
+    }
+
+    /**
+     * Fails the script if the call of any player failed
+     */
+    private static CompletableFuture<Void> requireSuccess(Map<String, AgonesPlayerResult> results) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        for (AgonesPlayerResult result : results.values()) {
+            if (!result.isSuccess()) {
+                future.completeExceptionally(result.getError());
+                return future;
+            }
+        }
+
+        future.complete(null);
+        return future;
+    }
+
+    void close() throws InterruptedException {
+        if (this.sdk != null) {
+            this.sdk.close();
+        }
+
+        if (this.channel != null) {
+            this.channel.shutdownNow();
+            this.channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        this.sidecar.close();
+    }
+}
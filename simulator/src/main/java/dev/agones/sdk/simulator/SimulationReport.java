@@ -0,0 +1,149 @@
+package dev.agones.sdk.simulator;
+
+import dev.agones.sdk.AgonesLatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate results of a {@link FleetSimulator} run
+ */
+public class SimulationReport {
+
+    private final int instances;
+    private final int failedInstances;
+    private final int timedOutInstances;
+    private final long durationNanos;
+    private final Map<String, AgonesLatencyHistogram> latencies;
+    private final AgonesLatencyHistogram timeToReady;
+    private final int peakThreads;
+    private final long heapBytesPerInstance;
+    private final long sidecarHeapBytesPerInstance;
+
+    SimulationReport(
+            int instances,
+            int failedInstances,
+            int timedOutInstances,
+            long durationNanos,
+            Map<String, AgonesLatencyHistogram> latencies,
+            AgonesLatencyHistogram timeToReady,
+            int peakThreads,
+            long heapBytesPerInstance,
+            long sidecarHeapBytesPerInstance) {
+        this.instances = instances;
+        this.failedInstances = failedInstances;
+        this.timedOutInstances = timedOutInstances;
+        this.durationNanos = durationNanos;
+        this.latencies = latencies;
+        this.timeToReady = timeToReady;
+        this.peakThreads = peakThreads;
+        this.heapBytesPerInstance = heapBytesPerInstance;
+        this.sidecarHeapBytesPerInstance = sidecarHeapBytesPerInstance;
+    }
+
+    public int getInstances() {
+        return this.instances;
+    }
+
+    /**
+     * @return number of instances whose script failed, or did not complete in time
+     */
+    public int getFailedInstances() {
+        return this.failedInstances;
+    }
+
+    /**
+     * @return number of instances whose script did not complete in time, included in the failed ones
+     */
+    public int getTimedOutInstances() {
+        return this.timedOutInstances;
+    }
+
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * @return number of unary calls completed by every instance
+     */
+    public long getCallCount() {
+        long calls = 0;
+        for (AgonesLatencyHistogram histogram : this.latencies.values()) {
+            calls += histogram.getCount();
+        }
+
+        return calls;
+    }
+
+    /**
+     * @return completed calls per second, every instance included
+     */
+    public double getThroughput() {
+        return getCallCount() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(1, this.durationNanos);
+    }
+
+    /**
+     * @return latency histogram of each method, aggregated over every instance
+     */
+    public Map<String, AgonesLatencyHistogram> getLatencies() {
+        return this.latencies;
+    }
+
+    /**
+     * @return time from the SDK startup to the first answer of the sidecar, over every instance
+     */
+    public AgonesLatencyHistogram getTimeToReady() {
+        return this.timeToReady;
+    }
+
+    /**
+     * @return highest number of live threads in the JVM during the run
+     */
+    public int getPeakThreads() {
+        return this.peakThreads;
+    }
+
+    /**
+     * @return heap retained per SDK instance, measured over the heap of the stand-in sidecars started first.
+     * The state the scripts add to the sidecars during the run is still included.
+     */
+    public long getHeapBytesPerInstance() {
+        return this.heapBytesPerInstance;
+    }
+
+    /**
+     * @return heap retained per stand-in sidecar and its server before the run
+     */
+    public long getSidecarHeapBytesPerInstance() {
+        return this.sidecarHeapBytesPerInstance;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(String.format("instances: %d (%d failed, %d timed out)%n",
+                        this.instances, this.failedInstances, this.timedOutInstances))
+                .append(String.format("duration: %d ms%n", TimeUnit.NANOSECONDS.toMillis(this.durationNanos)))
+                .append(String.format("calls: %d (%.0f/s)%n", getCallCount(), getThroughput()))
+                .append(String.format("time to ready: p50 %d us  p99 %d us  max %d us%n",
+                        TimeUnit.NANOSECONDS.toMicros(this.timeToReady.getValueAtPercentile(50)),
+                        TimeUnit.NANOSECONDS.toMicros(this.timeToReady.getValueAtPercentile(99)),
+                        TimeUnit.NANOSECONDS.toMicros(this.timeToReady.getMax())))
+                .append(String.format("peak threads: %d%n", this.peakThreads))
+                .append(String.format("heap per SDK instance: %d KiB%n", this.heapBytesPerInstance / 1024))
+                .append(String.format("heap per stand-in sidecar: %d KiB%n", this.sidecarHeapBytesPerInstance / 1024));
+
+        for (Map.Entry<String, AgonesLatencyHistogram> entry : this.latencies.entrySet()) {
+            AgonesLatencyHistogram histogram = entry.getValue();
+
+            builder.append(String.format("%-30s p50 %8d us  p99 %8d us  p99.9 %8d us  max %8d us%n",
+                    entry.getKey(),
+                    TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(50)),
+                    TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99)),
+                    TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99.9)),
+                    TimeUnit.NANOSECONDS.toMicros(histogram.getMax())));
+        }
+
+        return builder.toString();
+    }
+}
@@ -2,21 +2,111 @@ package dev.agones.sdk;
 
 import dev.agones.sdk.alpha.Alpha;
 import dev.agones.sdk.alpha.SDKGrpc;
-import io.grpc.ManagedChannel;
+import io.grpc.Channel;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
 
 /**
  * An instance of the Alpha Agones SDK
  */
 public class AgonesAlphaSDK {
 
+    /**
+     * Above the size of most lobbies, so a whole lobby goes out in a single round trip
+     */
+    static final int DEFAULT_BULK_MAX_IN_FLIGHT = 128;
+
     private final SDKGrpc.SDKStub client;
+    private final AgonesSDK sdk;
 
-    AgonesAlphaSDK(ManagedChannel channel) {
+    private volatile AgonesPlayerRegistry playerRegistry;
+    private volatile AgonesCapacityController capacityController;
+
+    AgonesAlphaSDK(Channel channel, AgonesSDK sdk) {
         this.client = SDKGrpc.newStub(channel);
+        this.sdk = sdk;
+    }
+
+    SDKGrpc.SDKStub client() {
+        return this.client;
+    }
+
+    /**
+     * Enables the client-side {@link AgonesPlayerRegistry}.
+     * Once enabled, {@link #isPlayerConnected(String)}, {@link #getPlayerCount()}
+     * and {@link #getConnectedPlayers()} are answered from memory,
+     * and {@link #playerConnect(String)} / {@link #playerDisconnect(String)} are applied to it optimistically.
+     * Until {@link AgonesPlayerRegistry#whenSynced()} completes, reads are still sent to the sidecar.
+     * <p>
+     * Calling this more than once returns the same registry.
+     *
+     * @return the player registry of this SDK instance
+     */
+    public synchronized AgonesPlayerRegistry enablePlayerRegistry() {
+        if (this.playerRegistry == null) {
+            AgonesPlayerRegistry registry = new AgonesPlayerRegistry(this, this.sdk::schedule);
+            registry.start(this.sdk.watchGameServer(registry::onGameServer));
+
+            this.playerRegistry = registry;
+        }
+
+        return this.playerRegistry;
+    }
+
+    /**
+     * Disables the client-side {@link AgonesPlayerRegistry}, which stops following the Game Server watch.
+     * Reads and player calls go to the sidecar again.
+     */
+    public synchronized void disablePlayerRegistry() {
+        if (this.playerRegistry != null) {
+            this.playerRegistry.stop();
+            this.playerRegistry = null;
+        }
+    }
+
+    /**
+     * Returns the client-side player registry
+     *
+     * @return the player registry, or null if {@link #enablePlayerRegistry()} was not called
+     */
+    public AgonesPlayerRegistry getPlayerRegistry() {
+        return this.playerRegistry;
+    }
+
+    /**
+     * Starts adjusting the player capacity from {@code load} on the SDK scheduler.
+     * <p>
+     * Calling this more than once returns the same controller, ignoring the new settings.
+     *
+     * @param load load signal, e.g. the game loop tick time divided by the tick budget.
+     *             Called on the SDK scheduler, must be thread-safe and must not block.
+     * @param policy capacity bounds, strategy and update rate
+     * @return the capacity controller of this SDK instance
+     */
+    public synchronized AgonesCapacityController startCapacityController(DoubleSupplier load, AgonesCapacityPolicy policy) {
+        if (this.capacityController == null) {
+            AgonesCapacityController controller = new AgonesCapacityController(this.sdk, this, load, policy);
+            controller.start(this.sdk.scheduler());
+
+            this.capacityController = controller;
+        }
+
+        return this.capacityController;
+    }
+
+    /**
+     * Returns the capacity controller
+     *
+     * @return the capacity controller, or null if
+     * {@link #startCapacityController(DoubleSupplier, AgonesCapacityPolicy)} was not called
+     */
+    public AgonesCapacityController getCapacityController() {
+        return this.capacityController;
     }
 
     /**
@@ -28,17 +118,58 @@ public class AgonesAlphaSDK {
      * if this {@code playerId} was not already in the list of connected playerIDs.
      */
     public CompletableFuture<Boolean> playerConnect(String playerId) {
-        AgonesFuture<Boolean, Alpha.Bool> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_BOOL_MAPPER);
+        AgonesPlayerRegistry registry = this.playerRegistry;
+        if (registry != null) {
+            return registry.playerConnect(playerId);
+        }
 
+        return sendPlayerConnect(playerId);
+    }
+
+    CompletableFuture<Boolean> sendPlayerConnect(String playerId) {
         Alpha.PlayerID playerID = Alpha.PlayerID
                 .newBuilder()
                 .setPlayerID(playerId)
                 .build();
 
-        this.client.playerConnect(playerID, future);
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.PLAYER_CONNECT,
+                this.client,
+                playerID,
+                SDKGrpc.SDKStub::playerConnect,
+                AgonesMappers.ALPHA_BOOL_MAPPER);
+    }
 
-        return future;
+    /**
+     * Connects every player of {@code playerIds}, see {@link #playerConnectAll(Collection, int)}
+     *
+     * @param playerIds Player ids to add
+     * @return outcome of {@link #playerConnect(String)} for each player id
+     */
+    public CompletableFuture<Map<String, AgonesPlayerResult>> playerConnectAll(Collection<String> playerIds) {
+        return playerConnectAll(playerIds, DEFAULT_BULK_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Connects every player of {@code playerIds}, sending up to {@code maxInFlight} calls at once
+     * instead of waiting for each reply in turn.
+     * Duplicate ids are only sent once, and ids already connected according to the {@link AgonesPlayerRegistry},
+     * when enabled and synced, are answered with false without calling the sidecar.
+     *
+     * @param playerIds Player ids to add
+     * @param maxInFlight maximum number of concurrent calls
+     * @return outcome of {@link #playerConnect(String)} for each player id, in iteration order.
+     * Completes once every call completed, a failed call only fails the outcome of its player.
+     */
+    public CompletableFuture<Map<String, AgonesPlayerResult>> playerConnectAll(Collection<String> playerIds, int maxInFlight) {
+        AgonesPlayerRegistry registry = this.playerRegistry;
+
+        return new AgonesPlayerBatch(
+                playerIds,
+                this::playerConnect,
+                maxInFlight,
+                registry == null || !registry.isSynced() ? null : registry::isPlayerConnected,
+                false).start();
     }
 
     /**
@@ -50,17 +181,58 @@ public class AgonesAlphaSDK {
      * if the {@code playerId} value exists within the list.
      */
     public CompletableFuture<Boolean> playerDisconnect(String playerId) {
-        AgonesFuture<Boolean, Alpha.Bool> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_BOOL_MAPPER);
+        AgonesPlayerRegistry registry = this.playerRegistry;
+        if (registry != null) {
+            return registry.playerDisconnect(playerId);
+        }
+
+        return sendPlayerDisconnect(playerId);
+    }
 
+    CompletableFuture<Boolean> sendPlayerDisconnect(String playerId) {
         Alpha.PlayerID playerID = Alpha.PlayerID
                 .newBuilder()
                 .setPlayerID(playerId)
                 .build();
 
-        this.client.playerDisconnect(playerID, future);
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.PLAYER_DISCONNECT,
+                this.client,
+                playerID,
+                SDKGrpc.SDKStub::playerDisconnect,
+                AgonesMappers.ALPHA_BOOL_MAPPER);
+    }
+
+    /**
+     * Disconnects every player of {@code playerIds}, see {@link #playerDisconnectAll(Collection, int)}
+     *
+     * @param playerIds Player ids to remove
+     * @return outcome of {@link #playerDisconnect(String)} for each player id
+     */
+    public CompletableFuture<Map<String, AgonesPlayerResult>> playerDisconnectAll(Collection<String> playerIds) {
+        return playerDisconnectAll(playerIds, DEFAULT_BULK_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Disconnects every player of {@code playerIds}, sending up to {@code maxInFlight} calls at once
+     * instead of waiting for each reply in turn.
+     * Duplicate ids are only sent once, and ids not connected according to the {@link AgonesPlayerRegistry},
+     * when enabled and synced, are answered with false without calling the sidecar.
+     *
+     * @param playerIds Player ids to remove
+     * @param maxInFlight maximum number of concurrent calls
+     * @return outcome of {@link #playerDisconnect(String)} for each player id, in iteration order.
+     * Completes once every call completed, a failed call only fails the outcome of its player.
+     */
+    public CompletableFuture<Map<String, AgonesPlayerResult>> playerDisconnectAll(Collection<String> playerIds, int maxInFlight) {
+        AgonesPlayerRegistry registry = this.playerRegistry;
 
-        return future;
+        return new AgonesPlayerBatch(
+                playerIds,
+                this::playerDisconnect,
+                maxInFlight,
+                registry == null || !registry.isSynced() ? null : playerId -> !registry.isPlayerConnected(playerId),
+                false).start();
     }
 
     /**
@@ -71,16 +243,12 @@ public class AgonesAlphaSDK {
      * @return void
      */
     public CompletableFuture<Void> setPlayerCapacity(long count) {
-        AgonesFuture<Void, Alpha.Empty> future = new AgonesFuture<>();
-
-        Alpha.Count protoCount = Alpha.Count
-                .newBuilder()
-                .setCount(count)
-                .build();
-
-        this.client.setPlayerCapacity(protoCount, future);
-
-        return future;
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.SET_PLAYER_CAPACITY,
+                this.client,
+                this.sdk.messages().count(count),
+                SDKGrpc.SDKStub::setPlayerCapacity,
+                AgonesMappers.voidMapper());
     }
 
     /**
@@ -96,12 +264,12 @@ public class AgonesAlphaSDK {
      * @return current player capacity
      */
     public CompletableFuture<Long> getPlayerCapacity() {
-        AgonesFuture<Long, Alpha.Count> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_COUNT_MAPPER);
-
-        this.client.getPlayerCapacity(Alpha.Empty.getDefaultInstance(), future);
-
-        return future;
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.GET_PLAYER_CAPACITY,
+                this.client,
+                Alpha.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::getPlayerCapacity,
+                AgonesMappers.ALPHA_COUNT_MAPPER);
     }
 
     /**
@@ -116,12 +284,17 @@ public class AgonesAlphaSDK {
      * @return current player count
      */
     public CompletableFuture<Long> getPlayerCount() {
-        AgonesFuture<Long, Alpha.Count> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_COUNT_MAPPER);
-
-        this.client.getPlayerCount(Alpha.Empty.getDefaultInstance(), future);
+        AgonesPlayerRegistry registry = this.playerRegistry;
+        if (registry != null && registry.isSynced()) {
+            return CompletableFuture.completedFuture(registry.getPlayerCount());
+        }
 
-        return future;
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.GET_PLAYER_COUNT,
+                this.client,
+                Alpha.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::getPlayerCount,
+                AgonesMappers.ALPHA_COUNT_MAPPER);
     }
 
     /**
@@ -137,17 +310,22 @@ public class AgonesAlphaSDK {
      * @return true if playerId is currently connected, false otherwise
      */
     public CompletableFuture<Boolean> isPlayerConnected(String playerId) {
-        AgonesFuture<Boolean, Alpha.Bool> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_BOOL_MAPPER);
+        AgonesPlayerRegistry registry = this.playerRegistry;
+        if (registry != null && registry.isSynced()) {
+            return CompletableFuture.completedFuture(registry.isPlayerConnected(playerId));
+        }
 
         Alpha.PlayerID playerID = Alpha.PlayerID
                 .newBuilder()
                 .setPlayerID(playerId)
                 .build();
 
-        this.client.isPlayerConnected(playerID, future);
-
-        return future;
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.IS_PLAYER_CONNECTED,
+                this.client,
+                playerID,
+                SDKGrpc.SDKStub::isPlayerConnected,
+                AgonesMappers.ALPHA_BOOL_MAPPER);
     }
 
     /**
@@ -162,11 +340,20 @@ public class AgonesAlphaSDK {
      * @return currently connected player id list
      */
     public CompletableFuture<List<String>> getConnectedPlayers() {
-        AgonesFuture<List<String>, Alpha.PlayerIDList> future =
-                new AgonesFuture<>(AgonesMappers.ALPHA_PLAYER_ID_LIST_MAPPER);
+        AgonesPlayerRegistry registry = this.playerRegistry;
+        if (registry != null && registry.isSynced()) {
+            return CompletableFuture.completedFuture(registry.getConnectedPlayers());
+        }
 
-        this.client.getConnectedPlayers(Alpha.Empty.getDefaultInstance(), future);
+        return fetchConnectedPlayers();
+    }
 
-        return future;
+    CompletableFuture<List<String>> fetchConnectedPlayers() {
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.GET_CONNECTED_PLAYERS,
+                this.client,
+                Alpha.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::getConnectedPlayers,
+                AgonesMappers.ALPHA_PLAYER_ID_LIST_MAPPER);
     }
 }
@@ -0,0 +1,283 @@
+package dev.agones.sdk;
+
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Int64Value;
+import dev.agones.sdk.beta.Beta;
+import dev.agones.sdk.beta.SDKGrpc;
+import io.grpc.Channel;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * An instance of the Beta Agones SDK, giving access to the Game Server Counters and Lists
+ */
+public class AgonesBetaSDK {
+
+    private final SDKGrpc.SDKStub client;
+    private final AgonesSDK sdk;
+
+    private volatile AgonesDeltaAggregator deltaAggregator;
+
+    AgonesBetaSDK(Channel channel, AgonesSDK sdk) {
+        this.client = SDKGrpc.newStub(channel);
+        this.sdk = sdk;
+    }
+
+    SDKGrpc.SDKStub client() {
+        return this.client;
+    }
+
+    /**
+     * Enables the {@link AgonesDeltaAggregator}: Counter increments and decrements, List additions and removals
+     * are then aggregated locally and sent once per {@code flushWindow}.
+     * <p>
+     * Calling this more than once returns the same aggregator, ignoring the new settings.
+     *
+     * @param flushWindow time updates are kept pending before being sent
+     * @param unit {@code flushWindow} time unit
+     * @return the delta aggregator of this SDK instance
+     */
+    public synchronized AgonesDeltaAggregator enableDeltaAggregation(long flushWindow, TimeUnit unit) {
+        if (this.deltaAggregator == null) {
+            this.deltaAggregator = new AgonesDeltaAggregator(this, this.sdk, unit.toNanos(flushWindow));
+        }
+
+        return this.deltaAggregator;
+    }
+
+    /**
+     * Returns the delta aggregator
+     *
+     * @return the delta aggregator, or null if {@link #enableDeltaAggregation(long, TimeUnit)} was not called
+     */
+    public AgonesDeltaAggregator getDeltaAggregator() {
+        return this.deltaAggregator;
+    }
+
+    /**
+     * @param name Counter name
+     * @return current Counter count, fails with {@literal NOT_FOUND} if the Counter does not exist
+     */
+    public CompletableFuture<Long> getCounterCount(String name) {
+        return getCounter(name, AgonesMappers.BETA_COUNTER_COUNT_MAPPER);
+    }
+
+    /**
+     * @param name Counter name
+     * @return current Counter capacity, fails with {@literal NOT_FOUND} if the Counter does not exist
+     */
+    public CompletableFuture<Long> getCounterCapacity(String name) {
+        return getCounter(name, AgonesMappers.BETA_COUNTER_CAPACITY_MAPPER);
+    }
+
+    /**
+     * Increases a Counter by {@code amount}
+     *
+     * @param name Counter name
+     * @param amount non-negative amount to add
+     * @return void, fails with {@literal OUT_OF_RANGE} if the count would exceed the Counter capacity
+     */
+    public CompletableFuture<Void> incrementCounter(String name, long amount) {
+        checkAmount(amount);
+
+        return addToCounter(name, amount);
+    }
+
+    /**
+     * Decreases a Counter by {@code amount}
+     *
+     * @param name Counter name
+     * @param amount non-negative amount to subtract
+     * @return void, fails with {@literal OUT_OF_RANGE} if the count would be negative
+     */
+    public CompletableFuture<Void> decrementCounter(String name, long amount) {
+        checkAmount(amount);
+
+        return addToCounter(name, -amount);
+    }
+
+    /**
+     * @param name Counter name
+     * @param count new count
+     * @return void
+     */
+    public CompletableFuture<Void> setCounterCount(String name, long count) {
+        Beta.CounterUpdateRequest request = Beta.CounterUpdateRequest
+                .newBuilder()
+                .setName(name)
+                .setCount(Int64Value.newBuilder().setValue(count).build())
+                .build();
+
+        return updateCounter(AgonesMethod.SET_COUNTER, request);
+    }
+
+    /**
+     * @param name Counter name
+     * @param capacity new capacity
+     * @return void
+     */
+    public CompletableFuture<Void> setCounterCapacity(String name, long capacity) {
+        Beta.CounterUpdateRequest request = Beta.CounterUpdateRequest
+                .newBuilder()
+                .setName(name)
+                .setCapacity(Int64Value.newBuilder().setValue(capacity).build())
+                .build();
+
+        return updateCounter(AgonesMethod.SET_COUNTER, request);
+    }
+
+    /**
+     * @param name List name
+     * @return current List values, fails with {@literal NOT_FOUND} if the List does not exist
+     */
+    public CompletableFuture<List<String>> getListValues(String name) {
+        return getList(name, AgonesMappers.BETA_LIST_VALUES_MAPPER);
+    }
+
+    /**
+     * @param name List name
+     * @return current List capacity, fails with {@literal NOT_FOUND} if the List does not exist
+     */
+    public CompletableFuture<Long> getListCapacity(String name) {
+        return getList(name, AgonesMappers.BETA_LIST_CAPACITY_MAPPER);
+    }
+
+    /**
+     * @param name List name
+     * @param capacity new capacity, values beyond it are truncated
+     * @return void
+     */
+    public CompletableFuture<Void> setListCapacity(String name, long capacity) {
+        Beta.UpdateListRequest request = Beta.UpdateListRequest
+                .newBuilder()
+                .setList(Beta.List.newBuilder().setName(name).setCapacity(capacity).build())
+                .setUpdateMask(FieldMask.newBuilder().addPaths("capacity").build())
+                .build();
+
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.UPDATE_LIST,
+                this.client,
+                request,
+                SDKGrpc.SDKStub::updateList,
+                AgonesMappers.voidMapper());
+    }
+
+    /**
+     * Adds a value to a List
+     *
+     * @param name List name
+     * @param value value to add
+     * @return void, fails with {@literal ALREADY_EXISTS} if the value is already in the List
+     * (unless aggregated, see {@link AgonesDeltaAggregator}), or {@literal OUT_OF_RANGE} if the List is full
+     */
+    public CompletableFuture<Void> appendListValue(String name, String value) {
+        AgonesDeltaAggregator aggregator = this.deltaAggregator;
+        if (aggregator != null) {
+            return aggregator.appendListValue(name, value);
+        }
+
+        return sendAppendListValue(name, value);
+    }
+
+    CompletableFuture<Void> sendAppendListValue(String name, String value) {
+        Beta.AddListValueRequest request = Beta.AddListValueRequest
+                .newBuilder()
+                .setName(name)
+                .setValue(value)
+                .build();
+
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.ADD_LIST_VALUE,
+                this.client,
+                request,
+                SDKGrpc.SDKStub::addListValue,
+                AgonesMappers.voidMapper());
+    }
+
+    /**
+     * Removes a value from a List
+     *
+     * @param name List name
+     * @param value value to remove
+     * @return void, fails with {@literal NOT_FOUND} if the value is not in the List
+     * (unless aggregated with an earlier addition, see {@link AgonesDeltaAggregator})
+     */
+    public CompletableFuture<Void> deleteListValue(String name, String value) {
+        AgonesDeltaAggregator aggregator = this.deltaAggregator;
+        if (aggregator != null) {
+            return aggregator.deleteListValue(name, value);
+        }
+
+        return sendDeleteListValue(name, value);
+    }
+
+    CompletableFuture<Void> sendDeleteListValue(String name, String value) {
+        Beta.RemoveListValueRequest request = Beta.RemoveListValueRequest
+                .newBuilder()
+                .setName(name)
+                .setValue(value)
+                .build();
+
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.REMOVE_LIST_VALUE,
+                this.client,
+                request,
+                SDKGrpc.SDKStub::removeListValue,
+                AgonesMappers.voidMapper());
+    }
+
+    CompletableFuture<Void> sendCounterUpdate(String name, long diff) {
+        Beta.CounterUpdateRequest request = Beta.CounterUpdateRequest
+                .newBuilder()
+                .setName(name)
+                .setCountDiff(diff)
+                .build();
+
+        return updateCounter(AgonesMethod.UPDATE_COUNTER, request);
+    }
+
+    private CompletableFuture<Void> addToCounter(String name, long diff) {
+        AgonesDeltaAggregator aggregator = this.deltaAggregator;
+        if (aggregator != null) {
+            return aggregator.addToCounter(name, diff);
+        }
+
+        return sendCounterUpdate(name, diff);
+    }
+
+    private CompletableFuture<Void> updateCounter(AgonesMethod method, Beta.CounterUpdateRequest request) {
+        return this.sdk.dispatcher().unary(
+                method,
+                this.client,
+                Beta.UpdateCounterRequest.newBuilder().setCounterUpdateRequest(request).build(),
+                SDKGrpc.SDKStub::updateCounter,
+                AgonesMappers.voidMapper());
+    }
+
+    private <T> CompletableFuture<T> getCounter(String name, Function<Beta.Counter, T> valueMapper) {
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.GET_COUNTER,
+                this.client,
+                Beta.GetCounterRequest.newBuilder().setName(name).build(),
+                SDKGrpc.SDKStub::getCounter,
+                valueMapper);
+    }
+
+    private <T> CompletableFuture<T> getList(String name, Function<Beta.List, T> valueMapper) {
+        return this.sdk.dispatcher().unary(
+                AgonesMethod.GET_LIST,
+                this.client,
+                Beta.GetListRequest.newBuilder().setName(name).build(),
+                SDKGrpc.SDKStub::getList,
+                valueMapper);
+    }
+
+    private static void checkAmount(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("amount must not be negative, got " + amount);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package dev.agones.sdk;
+
+import io.grpc.Status;
+import io.grpc.stub.AbstractStub;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sends every unary call of the SDK, applying the {@link AgonesCallPolicy} of its {@link AgonesMethod}
+ */
+class AgonesCallDispatcher {
+
+    /**
+     * Unary stub method, e.g. {@code SDKGrpc.SDKStub::ready}
+     */
+    interface UnaryCall<S, Q, R> {
+        void call(S stub, Q request, StreamObserver<R> observer);
+    }
+
+    /**
+     * Ignores the reply of untracked calls, their failures are only visible to the metrics interceptor
+     */
+    private static final StreamObserver<Object> UNTRACKED = new StreamObserver<Object>() {
+        @Override
+        public void onNext(Object value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    };
+
+    private final AgonesSDK sdk;
+    private final AgonesMetrics metrics;
+    private final AgonesRetryBudget retryBudget;
+    private final Map<AgonesMethod, AgonesCallPolicy> policies = new EnumMap<>(AgonesMethod.class);
+
+    AgonesCallDispatcher(
+            AgonesSDK sdk,
+            AgonesMetrics metrics,
+            AgonesRetryBudget retryBudget,
+            AgonesCallPolicy defaultPolicy,
+            Map<AgonesMethod, AgonesCallPolicy> policies) {
+        this.sdk = sdk;
+        this.metrics = metrics;
+        this.retryBudget = retryBudget;
+
+        for (AgonesMethod method : AgonesMethod.values()) {
+            AgonesCallPolicy policy = policies.get(method);
+            this.policies.put(method, policy == null ? defaultPolicy : policy);
+        }
+    }
+
+    AgonesCallPolicy policy(AgonesMethod method) {
+        return this.policies.get(method);
+    }
+
+    AgonesRetryBudget retryBudget() {
+        return this.retryBudget;
+    }
+
+    <S extends AbstractStub<S>, Q, R, T> CompletableFuture<T> unary(
+            AgonesMethod method,
+            S stub,
+            Q request,
+            UnaryCall<S, Q, R> call,
+            Function<R, T> valueMapper) {
+        AgonesCallPolicy policy = this.policies.get(method);
+        AgonesFuture<T, R> future = this.sdk.newFuture(valueMapper);
+        if (this.sdk.isClosed()) {
+            future.onError(AgonesSDK.closedError());
+            return future;
+        }
+
+        S gated = gate(stub, method);
+
+        AgonesDispatchScheduler scheduler = this.sdk.getDispatchScheduler();
+        if (scheduler == null) {
+            send(method, policy, gated, request, call, future);
+        } else {
+            scheduler.submit(method.getPriority(), () -> sendQueued(method, policy, gated, request, call, future), future);
+        }
+
+        return future;
+    }
+
+    /**
+     * Sends a single attempt without allocating any future, unless the {@link AgonesDispatchScheduler} is enabled
+     * and needs to know when the call completes. Dropped once the SDK is closed.
+     */
+    @SuppressWarnings("unchecked")
+    <S extends AbstractStub<S>, Q, R> void untracked(AgonesMethod method, S stub, Q request, UnaryCall<S, Q, R> call) {
+        if (this.sdk.isClosed()) {
+            return;
+        }
+
+        AgonesCallPolicy policy = this.policies.get(method);
+        S gated = gate(stub, method);
+
+        AgonesDispatchScheduler scheduler = this.sdk.getDispatchScheduler();
+        if (scheduler == null) {
+            call.call(withDeadline(gated, policy), request, (StreamObserver<R>) UNTRACKED);
+        } else {
+            AgonesFuture<Void, R> future = new AgonesFuture<>();
+            scheduler.submit(method.getPriority(), () -> sendQueued(method, policy, gated, request, call, future), future);
+        }
+    }
+
+    /**
+     * Sends a call admitted by the {@link AgonesDispatchScheduler}, possibly on another caller's thread,
+     * so a failure to start it fails its own future
+     */
+    private <S extends AbstractStub<S>, Q, R, T> void sendQueued(
+            AgonesMethod method,
+            AgonesCallPolicy policy,
+            S stub,
+            Q request,
+            UnaryCall<S, Q, R> call,
+            AgonesFuture<T, R> future) {
+        try {
+            send(method, policy, stub, request, call, future);
+        } catch (RuntimeException e) {
+            future.onError(e);
+        }
+    }
+
+    private <S extends AbstractStub<S>, Q, R, T> void send(
+            AgonesMethod method,
+            AgonesCallPolicy policy,
+            S stub,
+            Q request,
+            UnaryCall<S, Q, R> call,
+            AgonesFuture<T, R> future) {
+        if (!method.isIdempotent() || policy.getMaxAttempts() == 1) {
+            call.call(withDeadline(stub, policy), request, future);
+        } else {
+            new RetryingCall<>(method, policy, stub, request, call, future).start();
+        }
+    }
+
+    /**
+     * While the {@link AgonesStartup} is in progress, calls wait for the sidecar to listen instead of failing fast.
+     * Also names the call for the metrics when the method is reported under its own name.
+     */
+    private <S extends AbstractStub<S>> S gate(S stub, AgonesMethod method) {
+        S gated = this.sdk.isStarting() ? stub.withWaitForReady() : stub;
+
+        return method.isRenamed() ? gated.withOption(AgonesMetricsInterceptor.METHOD_NAME, method.getName()) : gated;
+    }
+
+    private static <S extends AbstractStub<S>> S withDeadline(S stub, AgonesCallPolicy policy) {
+        long deadlineNanos = policy.getDeadlineNanos();
+
+        return deadlineNanos > 0 ? stub.withDeadlineAfter(deadlineNanos, TimeUnit.NANOSECONDS) : stub;
+    }
+
+    /**
+     * Call of an idempotent method, sending a new attempt when a retryable failure happens
+     * or when the hedging delay elapses without reply. The first successful attempt completes the call
+     * and cancels the others.
+     */
+    private class RetryingCall<S extends AbstractStub<S>, Q, R, T> {
+        private final AgonesMethod method;
+        private final AgonesCallPolicy policy;
+        private final S stub;
+        private final Q request;
+        private final UnaryCall<S, Q, R> call;
+        private final AgonesFuture<T, R> future;
+
+        // guarded by this
+        private final List<Attempt> attempts = new ArrayList<>(1);
+        /**
+         * Attempts sent or waiting for their backoff, reserved before sending so hedging and retries
+         * cannot exceed the maximum attempt count together
+         */
+        private int reserved;
+        private int running;
+        private int retries;
+        private boolean done;
+
+        private RetryingCall(
+                AgonesMethod method,
+                AgonesCallPolicy policy,
+                S stub,
+                Q request,
+                UnaryCall<S, Q, R> call,
+                AgonesFuture<T, R> future) {
+            this.method = method;
+            this.policy = policy;
+            this.stub = stub;
+            this.request = request;
+            this.call = call;
+            this.future = future;
+        }
+
+        private void start() {
+            synchronized (this) {
+                this.reserved++;
+                this.running++;
+            }
+
+            sendAttempt();
+        }
+
+        private void sendAttempt() {
+            Attempt attempt = new Attempt();
+            synchronized (this) {
+                if (this.done) {
+                    return;
+                }
+
+                this.attempts.add(attempt);
+            }
+
+            this.call.call(withDeadline(this.stub, this.policy), this.request, attempt);
+
+            long hedgeDelayNanos = this.policy.getHedgeDelayNanos();
+            if (hedgeDelayNanos > 0) {
+                // The attempt already sent still completes the call if the SDK is closed first
+                AgonesCallDispatcher.this.sdk.schedule(
+                        () -> hedge(attempt), AgonesTaskScheduler.NOTHING_WAITING, hedgeDelayNanos);
+            }
+        }
+
+        private void hedge(Attempt attempt) {
+            int attemptNumber;
+            synchronized (this) {
+                if (this.done || attempt.finished || !reserveAttempt()) {
+                    return;
+                }
+
+                attemptNumber = this.reserved;
+            }
+
+            AgonesCallDispatcher.this.metrics.callRetried(this.method.getName(), attemptNumber);
+            sendAttempt();
+        }
+
+        private void onSuccess(Attempt attempt, R value) {
+            List<Attempt> losers;
+            synchronized (this) {
+                attempt.finished = true;
+                if (this.done) {
+                    return;
+                }
+
+                this.done = true;
+                losers = new ArrayList<>(this.attempts);
+            }
+
+            for (Attempt loser : losers) {
+                if (loser != attempt) {
+                    loser.cancel();
+                }
+            }
+
+            AgonesCallDispatcher.this.retryBudget.onSuccess();
+            this.future.onNext(value);
+        }
+
+        private void onError(Attempt attempt, Throwable t) {
+            Status.Code code = Status.fromThrowable(t).getCode();
+            int attemptNumber;
+            int retry;
+
+            synchronized (this) {
+                attempt.finished = true;
+                if (this.done) {
+                    return;
+                }
+
+                // application errors such as NOT_FOUND say nothing about the health of the sidecar
+                boolean retryable = this.policy.isRetryable(code);
+                if (retryable) {
+                    AgonesCallDispatcher.this.retryBudget.onFailure();
+                }
+                this.running--;
+
+                if (!retryable || !reserveAttempt()) {
+                    // a hedged attempt or a scheduled retry can still complete the call
+                    if (this.running > 0) {
+                        return;
+                    }
+
+                    this.done = true;
+                    attemptNumber = 0;
+                    retry = 0;
+                } else {
+                    attemptNumber = this.reserved;
+                    retry = ++this.retries;
+                }
+            }
+
+            if (retry == 0) {
+                this.future.onError(t);
+                return;
+            }
+
+            AgonesCallDispatcher.this.metrics.callRetried(this.method.getName(), attemptNumber);
+            AgonesCallDispatcher.this.sdk.schedule(this::sendAttempt, this::abort, this.policy.backoffNanos(retry));
+        }
+
+        /**
+         * Fails the call when its retry cannot be sent, the SDK being closed
+         */
+        private void abort(Throwable error) {
+            synchronized (this) {
+                if (this.done) {
+                    return;
+                }
+
+                this.done = true;
+            }
+
+            this.future.onError(error);
+        }
+
+        /**
+         * Must hold the lock
+         */
+        private boolean reserveAttempt() {
+            if (this.reserved >= this.policy.getMaxAttempts() || !AgonesCallDispatcher.this.retryBudget.allowRetry()) {
+                return false;
+            }
+
+            this.reserved++;
+            this.running++;
+
+            return true;
+        }
+
+        private class Attempt implements ClientResponseObserver<Q, R> {
+            private volatile ClientCallStreamObserver<Q> requestStream;
+            private volatile boolean finished;
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<Q> requestStream) {
+                this.requestStream = requestStream;
+            }
+
+            @Override
+            public void onNext(R value) {
+                onSuccess(this, value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                RetryingCall.this.onError(this, t);
+            }
+
+            @Override
+            public void onCompleted() {
+                //Not needed, the response is handled in onNext
+            }
+
+            private void cancel() {
+                ClientCallStreamObserver<Q> requestStream = this.requestStream;
+                if (requestStream != null && !this.finished) {
+                    requestStream.cancel("Another attempt completed the call", null);
+                }
+            }
+        }
+    }
+}
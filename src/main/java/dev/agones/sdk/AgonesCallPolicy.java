@@ -0,0 +1,183 @@
+package dev.agones.sdk;
+
+import io.grpc.Status;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline, retry and hedging settings of a unary call.
+ * <p>
+ * Retries and hedged attempts are only sent for {@link AgonesMethod#isIdempotent()} methods,
+ * and only while the {@link AgonesRetryBudget} allows it.
+ *
+ * @see AgonesSDK.Builder#callPolicy(AgonesMethod, AgonesCallPolicy)
+ */
+public class AgonesCallPolicy {
+
+    private static final AgonesCallPolicy DEFAULT = builder().build();
+
+    private final long deadlineNanos;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double backoffMultiplier;
+    private final double jitter;
+    private final long hedgeDelayNanos;
+    private final Set<Status.Code> retryableCodes;
+
+    private AgonesCallPolicy(Builder builder) {
+        this.deadlineNanos = builder.deadlineNanos;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffNanos = builder.initialBackoffNanos;
+        this.maxBackoffNanos = builder.maxBackoffNanos;
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.jitter = builder.jitter;
+        this.hedgeDelayNanos = builder.hedgeDelayNanos;
+        this.retryableCodes = Collections.unmodifiableSet(EnumSet.copyOf(builder.retryableCodes));
+    }
+
+    /**
+     * Default policy: 10 seconds deadline per attempt, up to 5 attempts on {@link Status.Code#UNAVAILABLE}
+     * and {@link Status.Code#DEADLINE_EXCEEDED}, with a backoff from 100 milliseconds to 5 seconds, no hedging.
+     *
+     * @return default policy
+     */
+    public static AgonesCallPolicy defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return a builder starting from the default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return deadline of each attempt in nanoseconds, 0 if none
+     */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    public Set<Status.Code> getRetryableCodes() {
+        return retryableCodes;
+    }
+
+    boolean isRetryable(Status.Code code) {
+        return this.retryableCodes.contains(code);
+    }
+
+    /**
+     * @param retry retry number, starting at 1
+     * @return jittered exponential backoff before this retry, in nanoseconds
+     */
+    long backoffNanos(int retry) {
+        double backoff = this.initialBackoffNanos * Math.pow(this.backoffMultiplier, retry - 1);
+        double capped = Math.min(backoff, this.maxBackoffNanos);
+        double jitterRange = capped * this.jitter;
+
+        return (long) (capped - jitterRange + ThreadLocalRandom.current().nextDouble() * 2 * jitterRange);
+    }
+
+    public static class Builder {
+        private long deadlineNanos = TimeUnit.SECONDS.toNanos(10);
+        private int maxAttempts = 5;
+        private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(5);
+        private double backoffMultiplier = 2;
+        private double jitter = 0.2;
+        private long hedgeDelayNanos;
+        private Set<Status.Code> retryableCodes = EnumSet.of(Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED);
+
+        private Builder() {
+        }
+
+        /**
+         * @param deadline deadline of each attempt, 0 for none
+         * @param unit {@code deadline} time unit
+         * @return this builder
+         */
+        public Builder deadline(long deadline, TimeUnit unit) {
+            this.deadlineNanos = unit.toNanos(deadline);
+            return this;
+        }
+
+        /**
+         * @param maxAttempts maximum number of attempts including the first one, 1 disables retries and hedging
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1, got " + maxAttempts);
+            }
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff wait before the first retry
+         * @param maxBackoff longest wait between two retries
+         * @param multiplier backoff growth factor between two retries
+         * @param unit {@code initialBackoff} and {@code maxBackoff} time unit
+         * @return this builder
+         */
+        public Builder backoff(long initialBackoff, long maxBackoff, double multiplier, TimeUnit unit) {
+            this.initialBackoffNanos = unit.toNanos(initialBackoff);
+            this.maxBackoffNanos = unit.toNanos(maxBackoff);
+            this.backoffMultiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param jitter share of the backoff randomized in both directions, between 0 and 1
+         * @return this builder
+         */
+        public Builder jitter(double jitter) {
+            this.jitter = Math.min(1, Math.max(0, jitter));
+            return this;
+        }
+
+        /**
+         * Sends another attempt when no reply was received after {@code delay}, keeping the first reply.
+         * Counts toward {@link #maxAttempts(int)}.
+         *
+         * @param delay delay before each hedged attempt, 0 disables hedging
+         * @param unit {@code delay} time unit
+         * @return this builder
+         */
+        public Builder hedgeDelay(long delay, TimeUnit unit) {
+            this.hedgeDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * @param codes status codes failed attempts are retried on
+         * @return this builder
+         */
+        public Builder retryableCodes(Status.Code... codes) {
+            this.retryableCodes = codes.length == 0
+                    ? EnumSet.noneOf(Status.Code.class)
+                    : EnumSet.copyOf(Arrays.asList(codes));
+            return this;
+        }
+
+        public AgonesCallPolicy build() {
+            return new AgonesCallPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package dev.agones.sdk;
+
+/**
+ * Priority classes of the calls sent through the {@link AgonesDispatchScheduler}, from the most to the least urgent
+ *
+ * @see AgonesMethod#getPriority()
+ */
+public enum AgonesCallPriority {
+    /**
+     * Health pings, sent on their stream without ever being queued
+     */
+    HEALTH,
+    /**
+     * State transitions and Game Server reads
+     */
+    LIFECYCLE,
+    /**
+     * Player tracking, Counters and Lists
+     */
+    PLAYER,
+    /**
+     * Labels and Annotations
+     */
+    METADATA
+}
@@ -0,0 +1,194 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Adjusts the player capacity from a load signal sampled on the SDK scheduler.
+ * <p>
+ * Each sample hands the load, the player count and the current capacity to the {@link AgonesCapacityStrategy}.
+ * {@literal SetPlayerCapacity} is only called when the clamped result differs from the current capacity
+ * and the previous change is older than the minimum update interval.
+ * Every applied change is also published as a label, so allocators can pick the Game Servers with room left.
+ *
+ * @see AgonesAlphaSDK#startCapacityController(DoubleSupplier, AgonesCapacityPolicy)
+ */
+public class AgonesCapacityController {
+
+    private final AgonesSDK sdk;
+    private final AgonesAlphaSDK alpha;
+    private final DoubleSupplier load;
+    private final AgonesCapacityPolicy policy;
+
+    private final AtomicBoolean sampling = new AtomicBoolean();
+
+    /**
+     * Capacity known to the sidecar, -1 until read from it. Written by the sample in progress,
+     * and reset by a failed update so the next sample reads it back.
+     */
+    private volatile long capacity = -1;
+    // Only touched by the sample in progress
+    private long lastUpdateNanos;
+
+    private volatile long currentCapacity = -1;
+    private volatile double lastLoad;
+    private volatile Throwable lastError;
+
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    // Guarded by this
+    private ScheduledFuture<?> task;
+
+    AgonesCapacityController(AgonesSDK sdk, AgonesAlphaSDK alpha, DoubleSupplier load, AgonesCapacityPolicy policy) {
+        this.sdk = sdk;
+        this.alpha = alpha;
+        this.load = load;
+        this.policy = policy;
+    }
+
+    synchronized void start(ScheduledExecutorService scheduler) {
+        long interval = this.policy.getSampleIntervalNanos();
+
+        this.task = scheduler.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops adjusting the capacity, which keeps its current value
+     */
+    public synchronized void stop() {
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    /**
+     * @return capacity last set by the controller, or -1 before the first sample
+     */
+    public long getCapacity() {
+        return this.currentCapacity;
+    }
+
+    /**
+     * @return load of the last sample
+     */
+    public double getLastLoad() {
+        return this.lastLoad;
+    }
+
+    /**
+     * @return number of load samples taken
+     */
+    public long getSampleCount() {
+        return this.samples.get();
+    }
+
+    /**
+     * @return number of capacity changes sent to the sidecar
+     */
+    public long getUpdateCount() {
+        return this.updates.get();
+    }
+
+    /**
+     * @return number of changes held back by the minimum update interval
+     */
+    public long getRateLimitedCount() {
+        return this.skipped.get();
+    }
+
+    /**
+     * @return error of the last failed sample or update, or null
+     */
+    public Throwable getLastError() {
+        return this.lastError;
+    }
+
+    void sample() {
+        // A slow sidecar must not pile samples up
+        if (!this.sampling.compareAndSet(false, true)) {
+            return;
+        }
+
+        double load;
+        try {
+            load = this.load.getAsDouble();
+        } catch (RuntimeException e) {
+            this.lastError = e;
+            this.sampling.set(false);
+            return;
+        }
+
+        this.lastLoad = load;
+        this.samples.incrementAndGet();
+
+        if (this.capacity < 0) {
+            this.alpha.getPlayerCapacity()
+                    .thenCombine(this.alpha.getPlayerCount(), (capacity, players) -> {
+                        this.capacity = capacity;
+                        this.currentCapacity = capacity;
+
+                        adjust(load, players);
+                        return null;
+                    })
+                    .whenComplete(this::sampled);
+        } else {
+            this.alpha.getPlayerCount()
+                    .thenAccept(players -> adjust(load, players))
+                    .whenComplete(this::sampled);
+        }
+    }
+
+    private void sampled(Object ignored, Throwable error) {
+        if (error != null) {
+            this.lastError = error;
+        }
+
+        this.sampling.set(false);
+    }
+
+    private void adjust(double load, long players) {
+        long capacity = this.policy.clamp(this.policy.getStrategy().capacity(load, players, this.capacity));
+        if (capacity == this.capacity) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (this.updates.get() > 0 && now - this.lastUpdateNanos < this.policy.getMinUpdateIntervalNanos()) {
+            this.skipped.incrementAndGet();
+            return;
+        }
+
+        this.capacity = capacity;
+        this.lastUpdateNanos = now;
+        this.updates.incrementAndGet();
+
+        this.alpha.setPlayerCapacity(capacity)
+                .whenComplete((empty, error) -> {
+                    if (error != null) {
+                        this.lastError = error;
+                        // Read the actual value back on the next sample
+                        this.capacity = -1;
+                    } else {
+                        this.currentCapacity = capacity;
+                        publish(capacity);
+                    }
+                });
+    }
+
+    /**
+     * Labels the capacity once applied, so allocators never see a capacity the sidecar rejected
+     */
+    private void publish(long capacity) {
+        String label = this.policy.getLabel();
+        if (label != null) {
+            this.sdk.setLabel(label, Long.toString(capacity));
+        }
+    }
+}
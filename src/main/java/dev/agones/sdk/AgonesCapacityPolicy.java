@@ -0,0 +1,138 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the {@link AgonesCapacityController}
+ *
+ * @see AgonesAlphaSDK#startCapacityController(java.util.function.DoubleSupplier, AgonesCapacityPolicy)
+ */
+public class AgonesCapacityPolicy {
+
+    private final long minCapacity;
+    private final long maxCapacity;
+    private final AgonesCapacityStrategy strategy;
+    private final long sampleIntervalNanos;
+    private final long minUpdateIntervalNanos;
+    private final String label;
+
+    private AgonesCapacityPolicy(Builder builder) {
+        this.minCapacity = builder.minCapacity;
+        this.maxCapacity = builder.maxCapacity;
+        this.strategy = builder.strategy;
+        this.sampleIntervalNanos = builder.sampleIntervalNanos;
+        this.minUpdateIntervalNanos = builder.minUpdateIntervalNanos;
+        this.label = builder.label;
+    }
+
+    /**
+     * Defaults: capacity between 0 and 100, {@link AgonesCapacityStrategy#hysteresis(double, double, long)}
+     * between 0.6 and 0.85 by steps of 4, load sampled every second, capacity changed at most every 5 seconds
+     * and published as the {@literal player-capacity} label.
+     *
+     * @return a builder starting from the default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getMinCapacity() {
+        return minCapacity;
+    }
+
+    public long getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public AgonesCapacityStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getSampleIntervalNanos() {
+        return sampleIntervalNanos;
+    }
+
+    public long getMinUpdateIntervalNanos() {
+        return minUpdateIntervalNanos;
+    }
+
+    /**
+     * @return label key the capacity is published to, or null if it is not published
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    long clamp(long capacity) {
+        return Math.max(this.minCapacity, Math.min(this.maxCapacity, capacity));
+    }
+
+    public static class Builder {
+        private long minCapacity;
+        private long maxCapacity = 100;
+        private AgonesCapacityStrategy strategy = AgonesCapacityStrategy.hysteresis(0.6, 0.85, 4);
+        private long sampleIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+        private long minUpdateIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+        private String label = "player-capacity";
+
+        private Builder() {
+        }
+
+        /**
+         * @param min lowest capacity
+         * @param max highest capacity
+         * @return this builder
+         */
+        public Builder bounds(long min, long max) {
+            if (min < 0 || min > max) {
+                throw new IllegalArgumentException("Invalid capacity bounds [" + min + ", " + max + "]");
+            }
+
+            this.minCapacity = min;
+            this.maxCapacity = max;
+            return this;
+        }
+
+        /**
+         * @param strategy decides the capacity from the load
+         * @return this builder
+         */
+        public Builder strategy(AgonesCapacityStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * @param interval time between two load samples
+         * @param unit {@code interval} time unit
+         * @return this builder
+         */
+        public Builder sampleInterval(long interval, TimeUnit unit) {
+            this.sampleIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param interval shortest time between two capacity changes
+         * @param unit {@code interval} time unit
+         * @return this builder
+         */
+        public Builder minUpdateInterval(long interval, TimeUnit unit) {
+            this.minUpdateIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param key label key the capacity is published to, null to not publish it
+         * @return this builder
+         */
+        public Builder label(String key) {
+            this.label = key;
+            return this;
+        }
+
+        public AgonesCapacityPolicy build() {
+            return new AgonesCapacityPolicy(this);
+        }
+    }
+}
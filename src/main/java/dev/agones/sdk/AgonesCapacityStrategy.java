@@ -0,0 +1,53 @@
+package dev.agones.sdk;
+
+/**
+ * Decides the player capacity from the current load
+ *
+ * @see AgonesCapacityPolicy.Builder#strategy(AgonesCapacityStrategy)
+ */
+@FunctionalInterface
+public interface AgonesCapacityStrategy {
+
+    /**
+     * Grows the capacity while the load is below {@code low} and shrinks it while the load is above {@code high},
+     * toward the capacity that would bring the load back between them, assuming the load is proportional
+     * to the player count. Within the band the capacity is left as is, so it does not flap around a single threshold.
+     *
+     * @param low load below which capacity is added
+     * @param high load above which capacity is removed
+     * @param maxStep largest capacity change of a single adjustment
+     * @return hysteresis strategy
+     */
+    static AgonesCapacityStrategy hysteresis(double low, double high, long maxStep) {
+        if (low > high) {
+            throw new IllegalArgumentException("low must not be greater than high");
+        }
+
+        double target = (low + high) / 2;
+
+        return (load, players, capacity) -> {
+            if (load > high) {
+                long fitting = players > 0 ? (long) (players * target / load) : capacity - maxStep;
+
+                // never grows, even when more players than the capacity are connected
+                return Math.min(capacity, Math.max(fitting, capacity - maxStep));
+            }
+
+            if (load < low) {
+                long fitting = players > 0 && load > 0 ? (long) (players * target / load) : capacity + maxStep;
+
+                return Math.max(capacity, Math.min(fitting, capacity + maxStep));
+            }
+
+            return capacity;
+        };
+    }
+
+    /**
+     * @param load current load, as returned by the load signal
+     * @param players current player count
+     * @param capacity current player capacity
+     * @return new player capacity, clamped by the controller to the policy bounds
+     */
+    long capacity(double load, long players, long capacity);
+}
@@ -0,0 +1,141 @@
+package dev.agones.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converts typed metadata values to and from their Label or Annotation string
+ *
+ * @param <T> value type
+ * @see AgonesMetadataKey
+ */
+public interface AgonesCodec<T> {
+
+    String encode(T value);
+
+    /**
+     * @param value raw Label or Annotation value
+     * @return decoded value
+     * @throws IllegalArgumentException if {@code value} is not a valid encoding
+     */
+    T decode(String value);
+
+    static AgonesCodec<String> string() {
+        return of(Function.identity(), Function.identity());
+    }
+
+    static AgonesCodec<Long> longs() {
+        return of(value -> Long.toString(value), Long::valueOf);
+    }
+
+    /**
+     * Base 36 longs, up to 13 characters instead of 19 decimal digits
+     *
+     * @return compact long codec
+     */
+    static AgonesCodec<Long> compactLongs() {
+        return of(value -> Long.toString(value, Character.MAX_RADIX), value -> Long.valueOf(value, Character.MAX_RADIX));
+    }
+
+    static AgonesCodec<Double> doubles() {
+        return of(value -> Double.toString(value), Double::valueOf);
+    }
+
+    static AgonesCodec<Boolean> booleans() {
+        return of(value -> Boolean.toString(value), Boolean::valueOf);
+    }
+
+    /**
+     * @param type enum class
+     * @param <E> enum type
+     * @return codec using the enum constant names
+     */
+    static <E extends Enum<E>> AgonesCodec<E> enumOf(Class<E> type) {
+        return of(Enum::name, value -> Enum.valueOf(type, value));
+    }
+
+    /**
+     * Small records encoded as their fields separated by dots, which keeps them valid Label values
+     * as long as every field is. Dots and tildes in fields are escaped as {@literal ~1} and {@literal ~0},
+     * which is only valid in Annotations. Null fields are encoded as empty strings.
+     * Decoding fails on any other tilde sequence.
+     *
+     * @param fields record field values, in order
+     * @param factory creates the record from its field values
+     * @param <T> record type
+     * @return record codec
+     */
+    static <T> AgonesCodec<T> record(Function<T, String[]> fields, Function<String[], T> factory) {
+        return of(value -> {
+            StringBuilder builder = new StringBuilder();
+
+            String[] values = fields.apply(value);
+
+            for (int index = 0; index < values.length; index++) {
+                String field = values[index] == null ? "" : values[index];
+                if (index > 0) {
+                    builder.append('.');
+                }
+
+                for (int i = 0; i < field.length(); i++) {
+                    char c = field.charAt(i);
+                    if (c == '~') {
+                        builder.append("~0");
+                    } else if (c == '.') {
+                        builder.append("~1");
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+
+            return builder.toString();
+        }, value -> {
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '.') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '~') {
+                    char escaped = i + 1 < value.length() ? value.charAt(++i) : 0;
+                    if (escaped == '0') {
+                        field.append('~');
+                    } else if (escaped == '1') {
+                        field.append('.');
+                    } else {
+                        throw new IllegalArgumentException("Invalid escape at index " + i + " of " + value);
+                    }
+                } else {
+                    field.append(c);
+                }
+            }
+            values.add(field.toString());
+
+            return factory.apply(values.toArray(new String[0]));
+        });
+    }
+
+    /**
+     * @param encoder encodes values, e.g. with a JSON library
+     * @param decoder decodes values
+     * @param <T> value type
+     * @return codec delegating to the functions
+     */
+    static <T> AgonesCodec<T> of(Function<T, String> encoder, Function<String, T> decoder) {
+        return new AgonesCodec<T>() {
+            @Override
+            public String encode(T value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public T decode(String value) {
+                return decoder.apply(value);
+            }
+        };
+    }
+}
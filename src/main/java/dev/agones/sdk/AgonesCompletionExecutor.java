@@ -0,0 +1,111 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor completing every future returned by the SDK and running the watch callbacks,
+ * so user callbacks never run on the gRPC threads unless {@link AgonesExecutors#direct()} is used.
+ * <p>
+ * Keeps track of the queue depth and the time spent in callbacks.
+ * With {@link AgonesExecutors#direct()} completions bypass it, so they cost no allocation, and nothing is tracked.
+ *
+ * @see AgonesSDK.Builder#completionExecutor(Executor)
+ */
+public class AgonesCompletionExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder callbackNanos = new LongAdder();
+    private final AtomicLong maxCallbackNanos = new AtomicLong();
+
+    AgonesCompletionExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return true if completions run on the gRPC callback threads and should bypass this executor
+     */
+    boolean isDirect() {
+        return this.delegate == AgonesExecutors.direct();
+    }
+
+    /**
+     * @throws RejectedExecutionException if the delegate rejected the command, e.g. a shut down pool
+     */
+    @Override
+    public void execute(Runnable command) {
+        this.queued.incrementAndGet();
+
+        try {
+            this.delegate.execute(() -> run(command));
+        } catch (RejectedExecutionException e) {
+            this.queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command) {
+        this.queued.decrementAndGet();
+        long start = System.nanoTime();
+
+        try {
+            command.run();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+
+            this.completedTasks.increment();
+            this.callbackNanos.add(elapsed);
+            updateMax(elapsed);
+        }
+    }
+
+    /**
+     * @return number of completions submitted but not started yet
+     */
+    public long getQueueDepth() {
+        return this.queued.get();
+    }
+
+    /**
+     * @return number of completions run
+     */
+    public long getCompletedTaskCount() {
+        return this.completedTasks.sum();
+    }
+
+    /**
+     * @return total time spent running completions and their callbacks, in nanoseconds
+     */
+    public long getTotalCallbackNanos() {
+        return this.callbackNanos.sum();
+    }
+
+    /**
+     * @return longest time spent running a single completion and its callbacks, in nanoseconds
+     */
+    public long getMaxCallbackNanos() {
+        return this.maxCallbackNanos.get();
+    }
+
+    /**
+     * @return average time spent running a completion and its callbacks, in microseconds
+     */
+    public double getAverageCallbackMicros() {
+        long tasks = this.completedTasks.sum();
+
+        return tasks == 0 ? 0 : (double) this.callbackNanos.sum() / tasks / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private void updateMax(long elapsed) {
+        long max;
+        do {
+            max = this.maxCallbackNanos.get();
+        } while (elapsed > max && !this.maxCallbackNanos.compareAndSet(max, elapsed));
+    }
+}
@@ -0,0 +1,378 @@
+package dev.agones.sdk;
+
+import io.grpc.Status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aggregates Counter and List updates locally, sending them once per flush window.
+ * <p>
+ * Counter increments and decrements only add to a pending net delta with a single atomic add, sent as a single
+ * {@literal UpdateCounter} call and skipped when it is zero.
+ * Pending List additions and removals of a value are collapsed into the last one, sent once, so the List ends
+ * as if they were sent in order. A collapsed addition of a value already present, or removal of a value
+ * already absent, succeeds.
+ * A List value is never sent again while a previous call for it is still in flight, so updates cannot be reordered.
+ * <p>
+ * A failed Counter update fails the futures of the increments it carried, its delta is not sent again.
+ * Updates still pending when the SDK is closed are failed.
+ *
+ * @see AgonesBetaSDK#enableDeltaAggregation(long, TimeUnit)
+ */
+public class AgonesDeltaAggregator {
+
+    private final AgonesBetaSDK beta;
+    private final AgonesSDK sdk;
+    private final long flushWindowNanos;
+
+    private final Map<String, PendingCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, PendingList> lists = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    AgonesDeltaAggregator(AgonesBetaSDK beta, AgonesSDK sdk, long flushWindowNanos) {
+        this.beta = beta;
+        this.sdk = sdk;
+        this.flushWindowNanos = flushWindowNanos;
+    }
+
+    /**
+     * Adds {@code diff} to the pending delta of a Counter
+     *
+     * @param name Counter name
+     * @param diff count difference, negative to decrement
+     * @return completes when the flush carrying this update completes, shared by every update of the window
+     */
+    public CompletableFuture<Void> addToCounter(String name, long diff) {
+        PendingCounter counter = this.counters.get(name);
+        if (counter == null) {
+            counter = this.counters.computeIfAbsent(name, PendingCounter::new);
+        }
+
+        // A window sealed by a flush that already read its delta cannot carry this one, the next window does
+        Window window;
+        do {
+            window = counter.window.get();
+        } while (Window.isSealed(window.delta.getAndAdd(diff)));
+
+        if (!window.dirty) {
+            window.dirty = true;
+        }
+
+        this.updates.incrementAndGet();
+        scheduleFlush();
+
+        return window.future;
+    }
+
+    /**
+     * Queues the addition of a value to a List
+     *
+     * @param name List name
+     * @param value value to add
+     * @return completes when the value is added, or removed by a later update collapsed with this one
+     */
+    public CompletableFuture<Void> appendListValue(String name, String value) {
+        return enqueue(name, value, true);
+    }
+
+    /**
+     * Queues the removal of a value from a List
+     *
+     * @param name List name
+     * @param value value to remove
+     * @return completes when the value is removed, or added by a later update collapsed with this one
+     */
+    public CompletableFuture<Void> deleteListValue(String name, String value) {
+        return enqueue(name, value, false);
+    }
+
+    /**
+     * Sends every pending update now, without waiting for the flush window
+     */
+    public void flush() {
+        for (PendingCounter counter : this.counters.values()) {
+            flush(counter);
+        }
+
+        for (PendingList list : this.lists.values()) {
+            flush(list);
+        }
+    }
+
+    /**
+     * @return number of updates received
+     */
+    public long getUpdateCount() {
+        return this.updates.get();
+    }
+
+    /**
+     * @return number of calls actually sent to the sidecar
+     */
+    public long getCallCount() {
+        return this.calls.get();
+    }
+
+    /**
+     * @return true if no update is pending nor in flight
+     */
+    boolean isIdle() {
+        if (this.inFlight.get() != 0) {
+            return false;
+        }
+
+        for (PendingCounter counter : this.counters.values()) {
+            if (counter.window.get().dirty) {
+                return false;
+            }
+        }
+
+        for (PendingList list : this.lists.values()) {
+            synchronized (list) {
+                if (!list.operations.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private CompletableFuture<Void> enqueue(String name, String value, boolean add) {
+        PendingList list = this.lists.computeIfAbsent(name, PendingList::new);
+        CompletableFuture<Void> future;
+
+        synchronized (list) {
+            Operation operation = list.operations.get(value);
+
+            if (operation == null) {
+                operation = new Operation(add);
+                list.operations.put(value, operation);
+            } else if (operation.add != add) {
+                // Only the last update decides whether the value ends in the List
+                operation.add = add;
+                operation.collapsed = true;
+            }
+
+            future = operation.future;
+        }
+
+        this.updates.incrementAndGet();
+        scheduleFlush();
+
+        return future;
+    }
+
+    private void scheduleFlush() {
+        if (!this.flushScheduled.get() && this.flushScheduled.compareAndSet(false, true)) {
+            this.sdk.schedule(() -> {
+                this.flushScheduled.set(false);
+                flush();
+            }, this::close, this.flushWindowNanos);
+        }
+    }
+
+    /**
+     * Fails every pending update, the SDK being closed
+     */
+    private void close(Throwable error) {
+        this.flushScheduled.set(false);
+
+        for (PendingCounter counter : this.counters.values()) {
+            Window window = counter.seal();
+            if (window != null) {
+                window.future.completeExceptionally(error);
+            }
+        }
+
+        for (PendingList list : this.lists.values()) {
+            List<Operation> dropped;
+
+            synchronized (list) {
+                dropped = new ArrayList<>(list.operations.values());
+                list.operations.clear();
+            }
+
+            for (Operation operation : dropped) {
+                operation.future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private void flush(PendingCounter counter) {
+        Window window = counter.seal();
+        if (window == null) {
+            return;
+        }
+
+        long delta = window.sealedDelta;
+        CompletableFuture<Void> future = window.future;
+
+        if (delta == 0) {
+            future.complete(null);
+            return;
+        }
+
+        this.inFlight.incrementAndGet();
+        this.calls.incrementAndGet();
+
+        this.beta.sendCounterUpdate(counter.name, delta)
+                .whenComplete((empty, error) -> {
+                    this.inFlight.decrementAndGet();
+                    complete(future, error);
+                });
+    }
+
+    private void flush(PendingList list) {
+        List<Map.Entry<String, Operation>> sending = new ArrayList<>();
+
+        synchronized (list) {
+            for (Map.Entry<String, Operation> entry : list.operations.entrySet()) {
+                if (list.inFlightValues.add(entry.getKey())) {
+                    sending.add(entry);
+                }
+            }
+
+            for (Map.Entry<String, Operation> entry : sending) {
+                list.operations.remove(entry.getKey());
+            }
+        }
+
+        for (Map.Entry<String, Operation> entry : sending) {
+            String value = entry.getKey();
+            Operation operation = entry.getValue();
+
+            this.inFlight.incrementAndGet();
+            this.calls.incrementAndGet();
+
+            CompletableFuture<Void> call = operation.add
+                    ? this.beta.sendAppendListValue(list.name, value)
+                    : this.beta.sendDeleteListValue(list.name, value);
+
+            call.whenComplete((empty, error) -> {
+                if (error != null && alreadyApplied(operation, Status.fromThrowable(error).getCode())) {
+                    error = null;
+                }
+
+                boolean pending;
+                synchronized (list) {
+                    list.inFlightValues.remove(value);
+                    pending = list.operations.containsKey(value);
+                }
+
+                this.inFlight.decrementAndGet();
+                complete(operation.future, error);
+
+                if (pending) {
+                    scheduleFlush();
+                }
+            });
+        }
+    }
+
+    /**
+     * An addition finding the value may follow an earlier call that failed after reaching the sidecar,
+     * and a collapsed update may find the List already as its last update leaves it
+     */
+    private static boolean alreadyApplied(Operation operation, Status.Code code) {
+        if (operation.add) {
+            return code == Status.Code.ALREADY_EXISTS;
+        }
+
+        return operation.collapsed && code == Status.Code.NOT_FOUND;
+    }
+
+    private static void complete(CompletableFuture<Void> future, Throwable error) {
+        if (error == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private static class PendingCounter {
+        private final String name;
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+
+        private PendingCounter(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Swaps in the next window, then seals the current one so its delta can no longer change
+         *
+         * @return the sealed window, or null if it had no update or another flush took it
+         */
+        private Window seal() {
+            Window window = this.window.get();
+            if (!window.dirty || !this.window.compareAndSet(window, new Window())) {
+                return null;
+            }
+
+            window.sealedDelta = window.delta.getAndAdd(Window.SEALED);
+            return window;
+        }
+    }
+
+    /**
+     * Net delta of a Counter for one flush, with the future of the call carrying it
+     */
+    private static final class Window {
+        /**
+         * Added to the delta when sealing, far beyond any net delta of a single window
+         */
+        private static final long SEALED = 1L << 62;
+
+        private final AtomicLong delta = new AtomicLong();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        /**
+         * Set by every update, even when the net delta is back to zero, so its future still completes
+         */
+        private volatile boolean dirty;
+        // Written by the flush that sealed the window, before anyone reads it
+        private long sealedDelta;
+
+        private static boolean isSealed(long delta) {
+            return delta >= SEALED / 2;
+        }
+    }
+
+    private static class PendingList {
+        private final String name;
+        // guarded by this
+        private final Map<String, Operation> operations = new LinkedHashMap<>();
+        private final Set<String> inFlightValues = new HashSet<>();
+
+        private PendingList(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Operation {
+        // guarded by the PendingList until sent
+        private boolean add;
+        private boolean collapsed;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Operation(boolean add) {
+            this.add = add;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dev.agones.sdk;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Concurrency and rate limits of each {@link AgonesCallPriority} class
+ *
+ * @see AgonesSDK#enableDispatchScheduler(AgonesDispatchPolicy)
+ */
+public class AgonesDispatchPolicy {
+
+    private static final AgonesDispatchPolicy DEFAULT = builder().build();
+
+    private final Map<AgonesCallPriority, Limits> limits;
+
+    private AgonesDispatchPolicy(Builder builder) {
+        this.limits = new EnumMap<>(builder.limits);
+    }
+
+    /**
+     * Default policy: at most 64 concurrent player calls and 16 concurrent metadata calls,
+     * no limit on lifecycle calls, no rate limit.
+     *
+     * @return default policy
+     */
+    public static AgonesDispatchPolicy defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return a builder starting from the default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param priority priority class
+     * @return maximum number of calls of this class in flight, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxConcurrent(AgonesCallPriority priority) {
+        return this.limits.get(priority).maxConcurrent;
+    }
+
+    /**
+     * @param priority priority class
+     * @return calls of this class admitted per second, 0 if unlimited
+     */
+    public double getPermitsPerSecond(AgonesCallPriority priority) {
+        return this.limits.get(priority).permitsPerSecond;
+    }
+
+    /**
+     * @param priority priority class
+     * @return calls of this class admitted at once after an idle period, when rate limited
+     */
+    public int getBurst(AgonesCallPriority priority) {
+        return this.limits.get(priority).burst;
+    }
+
+    public static class Builder {
+        private final Map<AgonesCallPriority, Limits> limits = new EnumMap<>(AgonesCallPriority.class);
+
+        private Builder() {
+            for (AgonesCallPriority priority : AgonesCallPriority.values()) {
+                this.limits.put(priority, new Limits(Integer.MAX_VALUE, 0, 0));
+            }
+
+            maxConcurrent(AgonesCallPriority.PLAYER, 64);
+            maxConcurrent(AgonesCallPriority.METADATA, 16);
+        }
+
+        /**
+         * @param priority priority class, health pings are never limited
+         * @param maxConcurrent maximum number of calls of this class in flight
+         * @return this builder
+         */
+        public Builder maxConcurrent(AgonesCallPriority priority, int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("maxConcurrent must be at least 1, got " + maxConcurrent);
+            }
+
+            Limits limits = this.limits.get(priority);
+            this.limits.put(priority, new Limits(maxConcurrent, limits.permitsPerSecond, limits.burst));
+            return this;
+        }
+
+        /**
+         * Token bucket limiting the rate calls of a class are sent at
+         *
+         * @param priority priority class, health pings are never limited
+         * @param permitsPerSecond calls admitted per second, 0 for no limit
+         * @param burst calls admitted at once after an idle period
+         * @return this builder
+         */
+        public Builder rateLimit(AgonesCallPriority priority, double permitsPerSecond, int burst) {
+            if (permitsPerSecond < 0 || (permitsPerSecond > 0 && burst < 1)) {
+                throw new IllegalArgumentException("permitsPerSecond must not be negative and burst must be at least 1");
+            }
+
+            Limits limits = this.limits.get(priority);
+            this.limits.put(priority, new Limits(limits.maxConcurrent, permitsPerSecond, burst));
+            return this;
+        }
+
+        public AgonesDispatchPolicy build() {
+            return new AgonesDispatchPolicy(this);
+        }
+    }
+
+    private static class Limits {
+        private final int maxConcurrent;
+        private final double permitsPerSecond;
+        private final int burst;
+
+        private Limits(int maxConcurrent, double permitsPerSecond, int burst) {
+            this.maxConcurrent = maxConcurrent;
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package dev.agones.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control of the unary calls, by {@link AgonesCallPriority} class.
+ * <p>
+ * Each class has its own queue, concurrency limit and token bucket. Whenever a call can be sent,
+ * the queued call of the most urgent class within its limits goes first, so lifecycle calls overtake
+ * a backlog of player or metadata calls. A class held back by its own limits does not hold back the less urgent ones.
+ * Health pings use their own stream and are never queued.
+ * <p>
+ * A call keeps its slot, retries included, until its future completes.
+ * Queued calls are sent on the thread submitting or completing a call, or on the SDK scheduler
+ * when waiting for a token. Calls still queued when the SDK is closed are failed.
+ *
+ * @see AgonesSDK#enableDispatchScheduler(AgonesDispatchPolicy)
+ */
+public class AgonesDispatchScheduler {
+
+    private static final AgonesCallPriority[] PRIORITIES = AgonesCallPriority.values();
+
+    private final AgonesMetrics metrics;
+    private final AgonesTaskScheduler scheduler;
+    private final PriorityClass[] classes = new PriorityClass[PRIORITIES.length];
+
+    // guarded by this
+    private boolean draining;
+    private boolean closed;
+
+    AgonesDispatchScheduler(
+            AgonesDispatchPolicy policy,
+            AgonesMetrics metrics,
+            AgonesTaskScheduler scheduler) {
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+
+        for (AgonesCallPriority priority : PRIORITIES) {
+            this.classes[priority.ordinal()] = new PriorityClass(
+                    priority,
+                    policy.getMaxConcurrent(priority),
+                    policy.getPermitsPerSecond(priority),
+                    policy.getBurst(priority));
+        }
+    }
+
+    /**
+     * @param priority priority class
+     * @return number of calls of this class waiting to be sent
+     */
+    public synchronized int getQueueDepth(AgonesCallPriority priority) {
+        return this.classes[priority.ordinal()].queue.size();
+    }
+
+    /**
+     * @param priority priority class
+     * @return number of calls of this class sent and not completed yet
+     */
+    public synchronized int getInFlight(AgonesCallPriority priority) {
+        return this.classes[priority.ordinal()].inFlight;
+    }
+
+    /**
+     * @param priority priority class
+     * @return time the calls of this class waited in the queue, in nanoseconds
+     */
+    public AgonesLatencyHistogram getWaitTime(AgonesCallPriority priority) {
+        return this.classes[priority.ordinal()].waitTime;
+    }
+
+    /**
+     * Sends {@code call} once its class can admit it, and frees its slot when {@code completion} completes.
+     * A call whose future completes while still queued, e.g. cancelled, is never sent.
+     */
+    void submit(AgonesCallPriority priority, Runnable call, CompletableFuture<?> completion) {
+        PriorityClass priorityClass = this.classes[priority.ordinal()];
+        QueuedCall queued = new QueuedCall(call, completion, System.nanoTime());
+
+        synchronized (this) {
+            if (this.closed) {
+                completion.completeExceptionally(AgonesSDK.closedError());
+                return;
+            }
+
+            priorityClass.queue.add(queued);
+        }
+
+        completion.whenComplete((value, error) -> release(priorityClass, queued));
+
+        drain();
+    }
+
+    /**
+     * Fails every queued call, and every call submitted from now on
+     */
+    void close(Throwable error) {
+        List<QueuedCall> dropped = new ArrayList<>();
+
+        synchronized (this) {
+            this.closed = true;
+
+            for (PriorityClass priorityClass : this.classes) {
+                dropped.addAll(priorityClass.queue);
+                priorityClass.queue.clear();
+            }
+        }
+
+        for (QueuedCall queued : dropped) {
+            queued.completion.completeExceptionally(error);
+        }
+    }
+
+    private void release(PriorityClass priorityClass, QueuedCall queued) {
+        synchronized (this) {
+            if (!queued.admitted) {
+                priorityClass.queue.remove(queued);
+                return;
+            }
+
+            priorityClass.inFlight--;
+        }
+
+        drain();
+    }
+
+    /**
+     * Sends every admissible call. A single thread drains at a time, so a call completing synchronously
+     * while being sent does not recurse into another drain.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (this.draining) {
+                return;
+            }
+
+            this.draining = true;
+        }
+
+        boolean idle = false;
+        try {
+            while (true) {
+                PriorityClass admitted = null;
+                QueuedCall call = null;
+
+                synchronized (this) {
+                    long now = System.nanoTime();
+
+                    for (PriorityClass priorityClass : this.classes) {
+                        if (priorityClass.admit(now)) {
+                            admitted = priorityClass;
+                            call = priorityClass.queue.poll();
+                            call.admitted = true;
+                            break;
+                        }
+                    }
+
+                    if (call == null) {
+                        this.draining = false;
+                        idle = true;
+                        return;
+                    }
+                }
+
+                long waitNanos = System.nanoTime() - call.queuedAtNanos;
+                admitted.waitTime.record(waitNanos);
+                reportAdmitted(admitted.priority, waitNanos);
+
+                call.call.run();
+            }
+        } finally {
+            // Lets the next submit or release drain again, instead of leaving every queued call stuck
+            if (!idle) {
+                synchronized (this) {
+                    this.draining = false;
+                }
+            }
+        }
+    }
+
+    private void reportAdmitted(AgonesCallPriority priority, long waitNanos) {
+        try {
+            this.metrics.callAdmitted(priority, waitNanos);
+        } catch (RuntimeException e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    private class PriorityClass {
+        private final AgonesCallPriority priority;
+        private final int maxConcurrent;
+        private final double permitsPerNano;
+        private final int burst;
+
+        private final AgonesLatencyHistogram waitTime = new AgonesLatencyHistogram();
+
+        // guarded by AgonesDispatchScheduler.this
+        private final ArrayDeque<QueuedCall> queue = new ArrayDeque<>();
+        private int inFlight;
+        private double tokens;
+        private long refilledAtNanos = System.nanoTime();
+        private boolean refillScheduled;
+
+        private PriorityClass(AgonesCallPriority priority, int maxConcurrent, double permitsPerSecond, int burst) {
+            this.priority = priority;
+            this.maxConcurrent = maxConcurrent;
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = burst;
+            this.tokens = burst;
+        }
+
+        /**
+         * Must hold the scheduler lock. Takes a concurrency slot and a token if a queued call can be sent now,
+         * or schedules a drain for when the next token is available.
+         */
+        private boolean admit(long now) {
+            if (this.queue.isEmpty() || this.inFlight >= this.maxConcurrent) {
+                return false;
+            }
+
+            if (this.permitsPerNano > 0) {
+                this.tokens = Math.min(this.burst, this.tokens + (now - this.refilledAtNanos) * this.permitsPerNano);
+                this.refilledAtNanos = now;
+
+                if (this.tokens < 1) {
+                    scheduleRefill((long) Math.ceil((1 - this.tokens) / this.permitsPerNano));
+                    return false;
+                }
+
+                this.tokens--;
+            }
+
+            this.inFlight++;
+            return true;
+        }
+
+        private void scheduleRefill(long delayNanos) {
+            if (this.refillScheduled) {
+                return;
+            }
+
+            this.refillScheduled = true;
+            // Queued calls are failed by close() when the SDK is closed, not by the refill
+            AgonesDispatchScheduler.this.scheduler.schedule(() -> {
+                synchronized (AgonesDispatchScheduler.this) {
+                    this.refillScheduled = false;
+                }
+
+                drain();
+            }, AgonesTaskScheduler.NOTHING_WAITING, delayNanos);
+        }
+    }
+
+    private static class QueuedCall {
+        private final Runnable call;
+        private final CompletableFuture<?> completion;
+        private final long queuedAtNanos;
+        // guarded by AgonesDispatchScheduler
+        private boolean admitted;
+
+        private QueuedCall(Runnable call, CompletableFuture<?> completion, long queuedAtNanos) {
+            this.call = call;
+            this.completion = completion;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+}
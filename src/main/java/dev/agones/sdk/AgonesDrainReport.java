@@ -0,0 +1,124 @@
+package dev.agones.sdk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duration of each phase of {@link AgonesSDK#drain(long, TimeUnit, boolean)}, and whether it completed in time
+ */
+public class AgonesDrainReport {
+
+    /**
+     * Drain phases, in execution order
+     */
+    public enum Phase {
+        /**
+         * Pending Label and Annotation writes and lifecycle transitions sent and acknowledged
+         */
+        FLUSH,
+        /**
+         * Agones {@literal Shutdown} call, only if requested
+         */
+        SHUTDOWN,
+        /**
+         * Health stream half-closed and closed by the sidecar
+         */
+        HEALTH,
+        /**
+         * Watch streams cancelled
+         */
+        WATCH,
+        /**
+         * Channel and event loop terminated, only if they are owned by the SDK
+         */
+        CHANNEL,
+        /**
+         * SDK scheduler stopped
+         */
+        EXECUTORS
+    }
+
+    private final Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+    private final Set<Phase> timedOut = EnumSet.noneOf(Phase.class);
+
+    AgonesDrainReport() {
+    }
+
+    void record(Phase phase, long durationNanos, boolean completed) {
+        this.durations.put(phase, durationNanos);
+
+        if (!completed) {
+            this.timedOut.add(phase);
+        }
+    }
+
+    /**
+     * @return duration of each phase that ran, in nanoseconds
+     */
+    public Map<Phase, Long> getDurations() {
+        return Collections.unmodifiableMap(this.durations);
+    }
+
+    /**
+     * @param phase drain phase
+     * @return duration of the phase in nanoseconds, 0 if it did not run
+     */
+    public long getDurationNanos(Phase phase) {
+        Long duration = this.durations.get(phase);
+
+        return duration == null ? 0 : duration;
+    }
+
+    /**
+     * @return duration of the whole drain in nanoseconds
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long duration : this.durations.values()) {
+            total += duration;
+        }
+
+        return total;
+    }
+
+    /**
+     * @param phase drain phase
+     * @return true if the phase was cut short by the drain timeout or an interruption
+     */
+    public boolean isTimedOut(Phase phase) {
+        return this.timedOut.contains(phase);
+    }
+
+    /**
+     * @return true if every phase completed in time
+     */
+    public boolean isComplete() {
+        return this.timedOut.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("AgonesDrainReport{");
+
+        for (Map.Entry<Phase, Long> entry : this.durations.entrySet()) {
+            if (builder.charAt(builder.length() - 1) != '{') {
+                builder.append(", ");
+            }
+
+            builder.append(entry.getKey())
+                    .append('=')
+                    .append(TimeUnit.NANOSECONDS.toMicros(entry.getValue()) / 1000.0)
+                    .append("ms");
+
+            if (this.timedOut.contains(entry.getKey())) {
+                builder.append(" (timed out)");
+            }
+        }
+
+        return builder.append('}').toString();
+    }
+}
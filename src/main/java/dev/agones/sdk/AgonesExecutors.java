@@ -0,0 +1,55 @@
+package dev.agones.sdk;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors to use with {@link AgonesSDK.Builder#completionExecutor(Executor)}
+ */
+public class AgonesExecutors {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private AgonesExecutors() {
+    }
+
+    /**
+     * Completes futures on the gRPC callback thread.
+     * Cheapest option, but a slow callback delays every other SDK response.
+     *
+     * @return direct executor
+     */
+    public static Executor direct() {
+        return DIRECT;
+    }
+
+    /**
+     * Creates a dedicated pool of daemon threads to complete futures on
+     *
+     * @param threads number of threads
+     * @return fixed thread pool
+     */
+    public static ExecutorService newPool(int threads) {
+        return Executors.newFixedThreadPool(threads, AgonesThreads.daemonFactory("agones-sdk-completion"));
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per completion
+     *
+     * @return virtual thread per task executor
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads (JDK 21+)
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer", e);
+        } catch (InvocationTargetException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e.getCause());
+        }
+    }
+}
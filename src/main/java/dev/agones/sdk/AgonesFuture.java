@@ -3,30 +3,60 @@ package dev.agones.sdk;
 import io.grpc.stub.StreamObserver;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 
 class AgonesFuture<T, R> extends CompletableFuture<T> implements StreamObserver<R> {
 
     private final Function<R, T> valueMapper;
+    private final Executor executor;
 
     public AgonesFuture() {
         this(original -> null);
     }
 
     public AgonesFuture(Function<R, T> valueMapper) {
+        this(valueMapper, null);
+    }
+
+    /**
+     * @param valueMapper maps the gRPC response to the future value
+     * @param executor executor completing the future, so dependent stages run on it
+     *                 instead of the gRPC callback thread. Completes directly if null,
+     *                 and fails directly with the rejection if it rejects the completion.
+     */
+    public AgonesFuture(Function<R, T> valueMapper, Executor executor) {
         super();
 
         this.valueMapper = valueMapper;
+        this.executor = executor;
     }
 
     @Override
     public void onNext(R value) {
-        complete(valueMapper.apply(value));
+        if (this.executor == null) {
+            complete(valueMapper.apply(value));
+        } else {
+            try {
+                this.executor.execute(() -> complete(valueMapper.apply(value)));
+            } catch (RejectedExecutionException e) {
+                completeExceptionally(e);
+            }
+        }
     }
 
     @Override
     public void onError(Throwable t) {
-        completeExceptionally(t);
+        if (this.executor == null) {
+            completeExceptionally(t);
+        } else {
+            try {
+                this.executor.execute(() -> completeExceptionally(t));
+            } catch (RejectedExecutionException e) {
+                completeExceptionally(t);
+            }
+        }
     }
 
     @Override
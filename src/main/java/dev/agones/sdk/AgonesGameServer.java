@@ -2,12 +2,16 @@ package dev.agones.sdk;
 
 import dev.agones.sdk.Sdk;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Backing Game Server configuration and status
+ * Backing Game Server configuration and status.
+ * <p>
+ * Instances returned by the SDK are views over the received protobuf message,
+ * nested objects are created the first time they are accessed.
  */
 public class AgonesGameServer {
 
@@ -41,6 +45,61 @@ public class AgonesGameServer {
         );
     }
 
+    /**
+     * Wraps the protobuf message without copying it,
+     * nested objects are only created the first time they are accessed
+     */
+    static AgonesGameServer wrap(Sdk.GameServer protoGameServer) {
+        return new Lazy(protoGameServer);
+    }
+
+    private static final class Lazy extends AgonesGameServer {
+        private final Sdk.GameServer proto;
+
+        private volatile ObjectMeta objectMeta;
+        private volatile Spec spec;
+        private volatile Status status;
+
+        private Lazy(Sdk.GameServer proto) {
+            super(null, null, null);
+
+            this.proto = proto;
+        }
+
+        @Override
+        public ObjectMeta getObjectMeta() {
+            ObjectMeta objectMeta = this.objectMeta;
+            if (objectMeta == null) {
+                objectMeta = ObjectMeta.fromProto(this.proto.getObjectMeta());
+                this.objectMeta = objectMeta;
+            }
+
+            return objectMeta;
+        }
+
+        @Override
+        public Spec getSpec() {
+            Spec spec = this.spec;
+            if (spec == null) {
+                spec = Spec.fromProto(this.proto.getSpec());
+                this.spec = spec;
+            }
+
+            return spec;
+        }
+
+        @Override
+        public Status getStatus() {
+            Status status = this.status;
+            if (status == null) {
+                status = Status.wrap(this.proto.getStatus());
+                this.status = status;
+            }
+
+            return status;
+        }
+    }
+
     /**
      * K8s ObjectMeta resource
      */
@@ -239,6 +298,49 @@ public class AgonesGameServer {
             );
         }
 
+        static Status wrap(Sdk.GameServer.Status protoStatus) {
+            return new Lazy(protoStatus);
+        }
+
+        private static final class Lazy extends Status {
+            private final Sdk.GameServer.Status proto;
+
+            private volatile List<Port> ports;
+            private volatile PlayerStatus players;
+
+            private Lazy(Sdk.GameServer.Status proto) {
+                super(proto.getState(), proto.getAddress(), null, null);
+
+                this.proto = proto;
+            }
+
+            @Override
+            public List<Port> getPorts() {
+                List<Port> ports = this.ports;
+                if (ports == null) {
+                    ports = new ArrayList<>(this.proto.getPortsCount());
+                    for (int i = 0; i < this.proto.getPortsCount(); i++) {
+                        ports.add(Port.fromProto(this.proto.getPorts(i)));
+                    }
+
+                    this.ports = ports;
+                }
+
+                return ports;
+            }
+
+            @Override
+            public PlayerStatus getPlayers() {
+                PlayerStatus players = this.players;
+                if (players == null) {
+                    players = PlayerStatus.fromProto(this.proto.getPlayers());
+                    this.players = players;
+                }
+
+                return players;
+            }
+        }
+
         public static class Port {
             private final String name;
             private final int port;
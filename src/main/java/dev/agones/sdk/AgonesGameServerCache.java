@@ -0,0 +1,181 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the {@link AgonesGameServer}, kept fresh by the shared watch stream.
+ * <p>
+ * Every watch update replaces the snapshot. A snapshot older than {@code refreshAfter} is still returned,
+ * but triggers a background refresh, and one older than {@code expireAfter} is only returned once refreshed.
+ * Concurrent refreshes are collapsed into a single {@literal GetGameServer} call.
+ * <p>
+ * While the snapshot is fresh, every caller receives the same completed future, which must not be obtruded,
+ * so hits do not allocate. Callers waiting for a refresh each receive their own future, so cancelling one
+ * does not affect the others.
+ *
+ * @see AgonesSDK#enableGameServerCache(long, long, TimeUnit)
+ */
+public class AgonesGameServerCache {
+
+    private final AgonesSDK sdk;
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<AgonesGameServer>> inFlight = new AtomicReference<>();
+
+    /**
+     * Incremented on every watch update, used to discard fetch results older than the watch snapshot
+     */
+    private final AtomicLong watchUpdates = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong fetches = new AtomicLong();
+
+    AgonesGameServerCache(AgonesSDK sdk, long refreshAfterNanos, long expireAfterNanos) {
+        if (expireAfterNanos < refreshAfterNanos) {
+            throw new IllegalArgumentException("expireAfter must not be shorter than refreshAfter");
+        }
+
+        this.sdk = sdk;
+        this.refreshAfterNanos = refreshAfterNanos;
+        this.expireAfterNanos = expireAfterNanos;
+    }
+
+    /**
+     * @return the cached Game Server, or the result of a {@literal GetGameServer} call if there is no fresh snapshot
+     */
+    public CompletableFuture<AgonesGameServer> get() {
+        Snapshot snapshot = this.snapshot;
+
+        if (snapshot != null) {
+            long age = System.nanoTime() - snapshot.confirmedAtNanos;
+
+            if (age <= this.expireAfterNanos) {
+                this.hits.incrementAndGet();
+
+                if (age > this.refreshAfterNanos) {
+                    refresh();
+                }
+
+                return snapshot.future;
+            }
+        }
+
+        this.misses.incrementAndGet();
+
+        // A future of its own, completing or cancelling it must not affect the other callers
+        return refresh().thenApply(Function.identity());
+    }
+
+    /**
+     * @return the cached Game Server whatever its age, or null if none was received yet
+     */
+    public AgonesGameServer getSnapshot() {
+        Snapshot snapshot = this.snapshot;
+
+        return snapshot == null ? null : snapshot.gameServer;
+    }
+
+    /**
+     * Drops the snapshot, the next read calls the sidecar
+     */
+    public void invalidate() {
+        this.snapshot = null;
+    }
+
+    /**
+     * @return number of reads answered from the snapshot
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return number of reads that had to wait for a {@literal GetGameServer} call
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return number of {@literal GetGameServer} calls sent
+     */
+    public long getFetchCount() {
+        return this.fetches.get();
+    }
+
+    void onEvent(AgonesWatchHub.Event event) {
+        if (event.error == null) {
+            this.watchUpdates.incrementAndGet();
+            this.snapshot = new Snapshot(event.gameServer, System.nanoTime());
+        }
+    }
+
+    /**
+     * Seeds the snapshot with the Game Server prefetched by {@link AgonesStartup}, unless the watch stream was faster
+     */
+    void prime(AgonesGameServer gameServer) {
+        if (this.watchUpdates.get() == 0 && this.snapshot == null) {
+            this.snapshot = new Snapshot(gameServer, System.nanoTime());
+        }
+    }
+
+    /**
+     * @return the future of the {@literal GetGameServer} call in flight, shared by every caller
+     */
+    private CompletableFuture<AgonesGameServer> refresh() {
+        while (true) {
+            CompletableFuture<AgonesGameServer> current = this.inFlight.get();
+            if (current != null) {
+                return current;
+            }
+
+            CompletableFuture<AgonesGameServer> future = new CompletableFuture<>();
+            if (this.inFlight.compareAndSet(null, future)) {
+                send(future);
+                return future;
+            }
+        }
+    }
+
+    private void send(CompletableFuture<AgonesGameServer> future) {
+        long observedWatchUpdates = this.watchUpdates.get();
+        long start = System.nanoTime();
+
+        this.fetches.incrementAndGet();
+
+        this.sdk.fetchGameServer()
+                .whenComplete((gameServer, error) -> {
+                    // A watch update received in the meantime is at least as recent as this reply
+                    if (error == null && this.watchUpdates.get() == observedWatchUpdates) {
+                        this.snapshot = new Snapshot(gameServer, start);
+                    }
+
+                    this.inFlight.set(null);
+
+                    if (error == null) {
+                        future.complete(gameServer);
+                    } else {
+                        future.completeExceptionally(error);
+                    }
+                });
+    }
+
+    private static class Snapshot {
+        private final AgonesGameServer gameServer;
+        private final CompletableFuture<AgonesGameServer> future;
+        private final long confirmedAtNanos;
+
+        private Snapshot(AgonesGameServer gameServer, long confirmedAtNanos) {
+            this.gameServer = gameServer;
+            this.future = CompletableFuture.completedFuture(gameServer);
+            this.confirmedAtNanos = confirmedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dev.agones.sdk;
+
+/**
+ * Receives the changes detected between two consecutive {@link AgonesGameServer} updates.
+ * <p>
+ * On the first update every field is reported as changed from its empty value.
+ *
+ * @see AgonesGameServerWatch
+ */
+public interface AgonesGameServerListener {
+
+    /**
+     * @param previousState previous state, empty on the first update
+     * @param state new state
+     */
+    default void onStateChanged(String previousState, String state) {
+    }
+
+    /**
+     * @param key Label key
+     * @param previousValue previous value, or null if the Label was added
+     * @param value new value, or null if the Label was removed
+     */
+    default void onLabelChanged(String key, String previousValue, String value) {
+    }
+
+    /**
+     * @param key Annotation key
+     * @param previousValue previous value, or null if the Annotation was added
+     * @param value new value, or null if the Annotation was removed
+     */
+    default void onAnnotationChanged(String key, String previousValue, String value) {
+    }
+
+    /**
+     * @param playerId id added to {@link AgonesGameServer.Status.PlayerStatus#getIds()}
+     */
+    default void onPlayerConnected(String playerId) {
+    }
+
+    /**
+     * @param playerId id removed from {@link AgonesGameServer.Status.PlayerStatus#getIds()}
+     */
+    default void onPlayerDisconnected(String playerId) {
+    }
+
+    /**
+     * @param previousCapacity previous player capacity
+     * @param capacity new player capacity
+     */
+    default void onCapacityChanged(long previousCapacity, long capacity) {
+    }
+
+    /**
+     * Called once per update that changed the {@link AgonesGameServer}, after the field level callbacks
+     *
+     * @param gameServer the updated Game Server
+     */
+    default void onGameServerChanged(AgonesGameServer gameServer) {
+    }
+
+    /**
+     * Called when the watch stream fails. The stream is reopened with backoff, and the listener keeps
+     * receiving the changes once it is resumed.
+     *
+     * @param error error the stream failed with
+     */
+    default void onError(Throwable error) {
+    }
+}
@@ -0,0 +1,246 @@
+package dev.agones.sdk;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive Streams {@link Publisher} of the {@link AgonesGameServer} updates.
+ * <p>
+ * Every subscriber gets its own {@literal WatchGameServer} stream with gRPC manual flow control:
+ * messages are only pulled from the transport, and mapped, once the subscriber requested them.
+ * Signals are sent on the gRPC callback threads. The stream is not reopened after an error,
+ * which is reported to {@link Subscriber#onError(Throwable)}.
+ * <p>
+ * On JDK 9+, {@code org.reactivestreams.FlowAdapters.toFlowPublisher} turns it into a
+ * {@code java.util.concurrent.Flow.Publisher}.
+ *
+ * @see AgonesSDK#gameServerPublisher()
+ */
+public class AgonesGameServerPublisher implements Publisher<AgonesGameServer> {
+
+    /**
+     * Most messages requested from gRPC ahead of delivery, so an unbounded demand does not overflow its int counters
+     */
+    static final int MAX_OUTSTANDING = 1024;
+
+    private final SDKGrpc.SDKStub client;
+
+    private final Set<WatchSubscription> active = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    AgonesGameServerPublisher(SDKGrpc.SDKStub client) {
+        this.client = client;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super AgonesGameServer> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+
+        WatchSubscription subscription = new WatchSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Cancels the stream of every subscription, each subscriber receives a {@literal CANCELLED} error
+     */
+    void close() {
+        this.closed = true;
+
+        for (WatchSubscription subscription : this.active) {
+            subscription.close("SDK closed", null);
+        }
+    }
+
+    private class WatchSubscription implements Subscription, ClientResponseObserver<Sdk.Empty, Sdk.GameServer> {
+
+        private final Subscriber<? super AgonesGameServer> subscriber;
+
+        /**
+         * Requested by the subscriber and not delivered yet
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        // Guarded by this
+        private ClientCallStreamObserver<Sdk.Empty> call;
+        private boolean started;
+        private int outstanding;
+
+        private volatile boolean done;
+        /**
+         * Signalled instead of the cancellation error it caused
+         */
+        private volatile IllegalArgumentException invalidRequest;
+
+        private WatchSubscription(Subscriber<? super AgonesGameServer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            if (this.done) {
+                return;
+            }
+
+            active.add(this);
+            client.watchGameServer(Sdk.Empty.getDefaultInstance(), this);
+
+            synchronized (this) {
+                this.started = true;
+            }
+
+            // Closed while starting, the subscription may have been missed
+            if (closed) {
+                close("SDK closed", null);
+            }
+
+            IllegalArgumentException invalidRequest = this.invalidRequest;
+            if (invalidRequest != null) {
+                close("Invalid request", invalidRequest);
+            }
+
+            pull();
+        }
+
+        /**
+         * Cancels the gRPC call without marking the subscription done,
+         * so the error is signalled on the gRPC callback thread like any other
+         */
+        private void close(String message, Throwable cause) {
+            ClientCallStreamObserver<Sdk.Empty> call;
+            synchronized (this) {
+                call = this.started && !this.done ? this.call : null;
+            }
+
+            if (call != null) {
+                call.cancel(message, cause);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (this.done) {
+                    return;
+                }
+
+                // Signalled through onError like the other errors, never concurrently with onNext (rule 1.3)
+                this.invalidRequest = new IllegalArgumentException(
+                        "Requested " + n + " elements, expected a positive number");
+                close("Invalid request", this.invalidRequest);
+                return;
+            }
+
+            long current;
+            do {
+                current = this.demand.get();
+                if (current == Long.MAX_VALUE) {
+                    return;
+                }
+            } while (!this.demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+
+            pull();
+        }
+
+        @Override
+        public void cancel() {
+            ClientCallStreamObserver<Sdk.Empty> call;
+            synchronized (this) {
+                if (this.done) {
+                    return;
+                }
+
+                this.done = true;
+                call = this.started ? this.call : null;
+            }
+
+            active.remove(this);
+
+            if (call != null) {
+                call.cancel("Subscription cancelled", null);
+            }
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Sdk.Empty> requestStream) {
+            requestStream.disableAutoRequestWithInitial(0);
+
+            synchronized (this) {
+                this.call = requestStream;
+            }
+        }
+
+        @Override
+        public void onNext(Sdk.GameServer value) {
+            if (this.done) {
+                return;
+            }
+
+            synchronized (this) {
+                this.outstanding--;
+            }
+
+            this.demand.decrementAndGet();
+            this.subscriber.onNext(AgonesMappers.GAME_SERVER_MAPPER.apply(value));
+
+            pull();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (this.done) {
+                return;
+            }
+
+            this.done = true;
+            active.remove(this);
+
+            IllegalArgumentException invalidRequest = this.invalidRequest;
+            this.subscriber.onError(invalidRequest == null ? t : invalidRequest);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (this.done) {
+                return;
+            }
+
+            this.done = true;
+            active.remove(this);
+            this.subscriber.onComplete();
+        }
+
+        /**
+         * Requests from gRPC the messages demanded by the subscriber and not requested yet
+         */
+        private void pull() {
+            ClientCallStreamObserver<Sdk.Empty> call;
+            int count;
+
+            synchronized (this) {
+                if (!this.started || this.done) {
+                    return;
+                }
+
+                long missing = Math.min(this.demand.get(), MAX_OUTSTANDING) - this.outstanding;
+                if (missing <= 0) {
+                    return;
+                }
+
+                count = (int) missing;
+                this.outstanding += count;
+                call = this.call;
+            }
+
+            call.request(count);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package dev.agones.sdk;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the {@link AgonesGameServer} and reports field level changes to {@link AgonesGameServerListener}s.
+ * <p>
+ * Updates carrying the same {@link AgonesGameServer.ObjectMeta#getResourceVersion()} as the previous one are skipped,
+ * and the listeners are only called when something actually changed.
+ * Updates come from the shared {@link AgonesWatchHub} stream.
+ *
+ * @see AgonesSDK#watchGameServerChanges()
+ */
+public class AgonesGameServerWatch {
+
+    private static final int EXPECTED_PLAYERS = 128;
+
+    private final List<AgonesGameServerListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Sdk.GameServer previous = Sdk.GameServer.getDefaultInstance();
+
+    // Only used by update, which is never called concurrently
+    private final AgonesPlayerTable playerTable = new AgonesPlayerTable(EXPECTED_PLAYERS);
+    private AgonesIntSet previousPlayers = new AgonesIntSet(EXPECTED_PLAYERS);
+    private AgonesIntSet currentPlayers = new AgonesIntSet(EXPECTED_PLAYERS);
+    private final AgonesIntSet leftPlayers = new AgonesIntSet(EXPECTED_PLAYERS);
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong skippedUpdates = new AtomicLong();
+
+    /**
+     * @param listener listener to notify of changes
+     */
+    public void addListener(AgonesGameServerListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @param listener listener to stop notifying
+     */
+    public void removeListener(AgonesGameServerListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * @return number of updates received from the sidecar
+     */
+    public long getUpdateCount() {
+        return this.updates.get();
+    }
+
+    /**
+     * @return number of updates skipped because nothing changed
+     */
+    public long getSkippedUpdateCount() {
+        return this.skippedUpdates.get();
+    }
+
+    void onEvent(AgonesWatchHub.Event event) {
+        if (event.error != null) {
+            for (AgonesGameServerListener listener : this.listeners) {
+                listener.onError(event.error);
+            }
+        } else {
+            update(event.proto, event.gameServer);
+        }
+    }
+
+    void update(Sdk.GameServer current, AgonesGameServer gameServer) {
+        this.updates.incrementAndGet();
+
+        Sdk.GameServer previous = this.previous;
+        String resourceVersion = current.getObjectMeta().getResourceVersion();
+
+        if ((!resourceVersion.isEmpty() && resourceVersion.equals(previous.getObjectMeta().getResourceVersion()))
+                || current.equals(previous)) {
+            this.skippedUpdates.incrementAndGet();
+            return;
+        }
+
+        this.previous = current;
+
+        List<String> previousIds = previous.getStatus().getPlayers().getIdsList();
+        List<String> ids = current.getStatus().getPlayers().getIdsList();
+
+        // The player handles are kept up to date even without listeners, so one added later sees an accurate diff
+        boolean playersChanged = !previousIds.equals(ids);
+        if (playersChanged) {
+            diffPlayers(ids);
+        }
+
+        if (this.listeners.isEmpty()) {
+            releaseLeftPlayers();
+            return;
+        }
+
+        String previousState = previous.getStatus().getState();
+        String state = current.getStatus().getState();
+        if (!previousState.equals(state)) {
+            for (AgonesGameServerListener listener : this.listeners) {
+                listener.onStateChanged(previousState, state);
+            }
+        }
+
+        diff(previous.getObjectMeta().getLabelsMap(), current.getObjectMeta().getLabelsMap(), false);
+        diff(previous.getObjectMeta().getAnnotationsMap(), current.getObjectMeta().getAnnotationsMap(), true);
+
+        if (playersChanged) {
+            notifyPlayers(ids);
+        }
+        releaseLeftPlayers();
+
+        long previousCapacity = previous.getStatus().getPlayers().getCapacity();
+        long capacity = current.getStatus().getPlayers().getCapacity();
+        if (previousCapacity != capacity) {
+            for (AgonesGameServerListener listener : this.listeners) {
+                listener.onCapacityChanged(previousCapacity, capacity);
+            }
+        }
+
+        for (AgonesGameServerListener listener : this.listeners) {
+            listener.onGameServerChanged(gameServer);
+        }
+    }
+
+    private void diff(Map<String, String> previous, Map<String, String> current, boolean annotations) {
+        if (previous.equals(current)) {
+            return;
+        }
+
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String previousValue = previous.get(entry.getKey());
+
+            if (!entry.getValue().equals(previousValue)) {
+                notifyMetadata(entry.getKey(), previousValue, entry.getValue(), annotations);
+            }
+        }
+
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                notifyMetadata(entry.getKey(), entry.getValue(), null, annotations);
+            }
+        }
+    }
+
+    private void notifyMetadata(String key, String previousValue, String value, boolean annotation) {
+        for (AgonesGameServerListener listener : this.listeners) {
+            if (annotation) {
+                listener.onAnnotationChanged(key, previousValue, value);
+            } else {
+                listener.onLabelChanged(key, previousValue, value);
+            }
+        }
+    }
+
+    /**
+     * Interns the current player ids and computes the players who left, without allocating
+     */
+    private void diffPlayers(List<String> ids) {
+        AgonesIntSet players = this.previousPlayers;
+        this.previousPlayers = this.currentPlayers;
+        this.currentPlayers = players;
+
+        players.clear();
+        for (int i = 0; i < ids.size(); i++) {
+            players.add(this.playerTable.intern(ids.get(i)));
+        }
+
+        AgonesIntSet.difference(this.previousPlayers, players, this.leftPlayers);
+    }
+
+    private void notifyPlayers(List<String> ids) {
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+
+            if (!this.previousPlayers.contains(this.playerTable.find(id))) {
+                for (AgonesGameServerListener listener : this.listeners) {
+                    listener.onPlayerConnected(id);
+                }
+            }
+        }
+
+        for (int i = 0; i < this.leftPlayers.size(); i++) {
+            String id = this.playerTable.id(this.leftPlayers.get(i));
+
+            for (AgonesGameServerListener listener : this.listeners) {
+                listener.onPlayerDisconnected(id);
+            }
+        }
+    }
+
+    /**
+     * Frees the handles of the players who left once they were reported, so the table does not grow with churn
+     */
+    private void releaseLeftPlayers() {
+        for (int i = 0; i < this.leftPlayers.size(); i++) {
+            this.playerTable.release(this.playerTable.id(this.leftPlayers.get(i)));
+        }
+
+        this.leftPlayers.clear();
+    }
+}
@@ -0,0 +1,152 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends health pings on the SDK scheduler, so game threads never have to.
+ * <p>
+ * Pings are sent twice per {@link AgonesGameServer.Spec.Health#getPeriodSeconds()},
+ * and a failed stream is reopened with a backoff capped well below
+ * {@code periodSeconds * failureThreshold}, the time after which Agones marks the Game Server as unhealthy.
+ *
+ * @see AgonesSDK#startHealthChecking()
+ */
+public class AgonesHealthPinger {
+
+    static final int DEFAULT_PERIOD_SECONDS = 5;
+    static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    private final AgonesHealthStream stream;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private ScheduledFuture<?> task;
+    private boolean stopped;
+
+    private volatile long intervalNanos;
+
+    AgonesHealthPinger(AgonesHealthStream stream, ScheduledExecutorService scheduler) {
+        this.stream = stream;
+        this.scheduler = scheduler;
+    }
+
+    synchronized void start() {
+        configure(DEFAULT_PERIOD_SECONDS, DEFAULT_FAILURE_THRESHOLD);
+    }
+
+    /**
+     * Derives the ping interval and the stream reopen backoff from the Game Server health configuration
+     *
+     * @param health health configuration
+     */
+    synchronized void configure(AgonesGameServer.Spec.Health health) {
+        if (health.isDisabled()) {
+            stop();
+            return;
+        }
+
+        configure(health.getPeriodSeconds(), health.getFailureThreshold());
+    }
+
+    private void configure(int periodSeconds, int failureThreshold) {
+        if (this.stopped) {
+            return;
+        }
+
+        long periodNanos = TimeUnit.SECONDS.toNanos(periodSeconds > 0 ? periodSeconds : DEFAULT_PERIOD_SECONDS);
+        int threshold = failureThreshold > 0 ? failureThreshold : DEFAULT_FAILURE_THRESHOLD;
+
+        this.stream.setMaxBackoffNanos(periodNanos * threshold / 4);
+
+        long intervalNanos = periodNanos / 2;
+        if (this.task != null) {
+            if (this.intervalNanos == intervalNanos) {
+                return;
+            }
+
+            this.task.cancel(false);
+        }
+
+        this.intervalNanos = intervalNanos;
+        this.task = this.scheduler.scheduleWithFixedDelay(
+                this::ping, 0, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Never throws, a periodic task throwing once is never run again
+     */
+    private void ping() {
+        try {
+            this.stream.ping();
+        } catch (RuntimeException e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    /**
+     * Stops sending pings.
+     * The Game Server is marked as unhealthy by Agones once the failure threshold is reached.
+     */
+    public synchronized void stop() {
+        this.stopped = true;
+
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    /**
+     * @return current ping interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.intervalNanos);
+    }
+
+    /**
+     * @return number of pings handed to the transport
+     */
+    public long getPingCount() {
+        return this.stream.getPingCount();
+    }
+
+    /**
+     * @return number of pings skipped because the stream was broken
+     */
+    public long getMissedPingCount() {
+        return this.stream.getMissedPingCount();
+    }
+
+    /**
+     * @return number of times the health stream was reopened after a failure
+     */
+    public long getStreamRestartCount() {
+        return this.stream.getRestartCount();
+    }
+
+    /**
+     * The {@literal Health} call only replies once the stream is closed,
+     * so a ping is acknowledged when the transport accepted it.
+     *
+     * @return time taken by the last ping to be accepted, in nanoseconds
+     */
+    public long getLastAckLatencyNanos() {
+        return this.stream.getLastPingLatencyNanos();
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last acknowledged ping, or 0 if none was sent yet
+     */
+    public long getLastAckNanos() {
+        return this.stream.getLastPingNanos();
+    }
+
+    /**
+     * @return the error that closed the health stream last, or null
+     */
+    public Throwable getLastError() {
+        return this.stream.getLastError();
+    }
+}
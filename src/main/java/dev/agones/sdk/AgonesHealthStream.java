@@ -0,0 +1,285 @@
+package dev.agones.sdk;
+
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Self-healing {@literal Health} client stream.
+ * <p>
+ * The stream is opened on the SDK scheduler after the first ping, and reopened there with exponential backoff
+ * after it fails, instead of sending every following ping to a dead stream.
+ * Pings never block nor allocate: they only read the current stream, and a ping racing with another one
+ * is dropped since the other one keeps the Game Server healthy just as well.
+ */
+class AgonesHealthStream {
+
+    static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long DEFAULT_MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SDKGrpc.SDKStub client;
+    private final AgonesTaskScheduler scheduler;
+
+    /**
+     * Open stream, or null while it is opening, waiting for its reopen backoff, or shut down
+     */
+    private final AtomicReference<HealthObserver> stream = new AtomicReference<>();
+    /**
+     * Held while sending on the stream, which is not thread-safe, and for good once shut down
+     */
+    private final AtomicBoolean sending = new AtomicBoolean();
+    /**
+     * True while an open is scheduled
+     */
+    private final AtomicBoolean opening = new AtomicBoolean();
+    private volatile boolean shutdown;
+
+    // Only touched by open() on the scheduler and by the thread closing the current stream, ordered by stream
+    private long backoffNanos = INITIAL_BACKOFF_NANOS;
+    private boolean opened;
+
+    private volatile long maxBackoffNanos = DEFAULT_MAX_BACKOFF_NANOS;
+
+    private final AtomicLong pings = new AtomicLong();
+    private final AtomicLong missedPings = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+
+    private volatile long lastPingNanos;
+    private volatile long lastPingLatencyNanos;
+    private volatile Throwable lastError;
+
+    AgonesHealthStream(SDKGrpc.SDKStub client, AgonesTaskScheduler scheduler) {
+        this.client = client;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sends a ping, asking the scheduler to open the stream first if needed
+     *
+     * @return true if the ping was handed to the transport, or another ping was being sent at the same time,
+     * false if the stream is not open yet or broken and still waiting for its reopen backoff to elapse
+     */
+    boolean ping() {
+        long start = System.nanoTime();
+
+        if (this.shutdown) {
+            this.missedPings.incrementAndGet();
+            return false;
+        }
+
+        HealthObserver stream = this.stream.get();
+        if (stream == null) {
+            this.missedPings.incrementAndGet();
+            requestOpen();
+            return false;
+        }
+
+        if (!this.sending.compareAndSet(false, true)) {
+            return true;
+        }
+
+        try {
+            // closed and replaced while this ping was waiting
+            if (this.stream.get() != stream) {
+                this.missedPings.incrementAndGet();
+                return false;
+            }
+
+            stream.requests.onNext(Sdk.Empty.getDefaultInstance());
+        } catch (RuntimeException e) {
+            closed(stream, e);
+            this.missedPings.incrementAndGet();
+            return false;
+        } finally {
+            this.sending.set(false);
+        }
+
+        long end = System.nanoTime();
+        this.lastPingNanos = end;
+        this.lastPingLatencyNanos = end - start;
+        this.pings.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * Half-closes the stream for good, following pings are dropped
+     *
+     * @return completes when the sidecar closed the stream, immediately if it was not open
+     */
+    CompletableFuture<Void> close() {
+        this.shutdown = true;
+
+        // waits for the ping or the open in progress, and keeps every later one out
+        while (!this.sending.compareAndSet(false, true)) {
+            Thread.yield();
+        }
+
+        HealthObserver stream = this.stream.getAndSet(null);
+        if (stream == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            stream.requests.onCompleted();
+        } catch (RuntimeException e) {
+            this.lastError = e;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return stream.closed;
+    }
+
+    /**
+     * Sets the longest wait between two reopen attempts
+     *
+     * @param maxBackoffNanos max backoff in nanoseconds
+     */
+    void setMaxBackoffNanos(long maxBackoffNanos) {
+        this.maxBackoffNanos = Math.max(INITIAL_BACKOFF_NANOS, maxBackoffNanos);
+    }
+
+    long getPingCount() {
+        return this.pings.get();
+    }
+
+    long getMissedPingCount() {
+        return this.missedPings.get();
+    }
+
+    long getRestartCount() {
+        return this.restarts.get();
+    }
+
+    long getLastPingNanos() {
+        return this.lastPingNanos;
+    }
+
+    long getLastPingLatencyNanos() {
+        return this.lastPingLatencyNanos;
+    }
+
+    Throwable getLastError() {
+        return this.lastError;
+    }
+
+    private void requestOpen() {
+        if (!this.shutdown && this.opening.compareAndSet(false, true)) {
+            this.scheduler.schedule(this::open, AgonesTaskScheduler.NOTHING_WAITING, 0);
+        }
+    }
+
+    /**
+     * Runs on the scheduler, then sends a first ping so a reopened stream reports health right away
+     */
+    private void open() {
+        while (!this.sending.compareAndSet(false, true)) {
+            if (this.shutdown) {
+                return;
+            }
+
+            Thread.yield();
+        }
+
+        HealthObserver observer;
+        try {
+            if (this.shutdown) {
+                return;
+            }
+
+            if (this.opened) {
+                this.restarts.incrementAndGet();
+            }
+            this.opened = true;
+
+            observer = new HealthObserver(System.nanoTime());
+            observer.requests = this.client.health(observer);
+            this.stream.set(observer);
+            this.opening.set(false);
+        } catch (RuntimeException e) {
+            this.lastError = e;
+            reopenAfterBackoff();
+            return;
+        } finally {
+            this.sending.set(false);
+        }
+
+        // The stream may have failed before being published, closed() then ignored it
+        if (observer.done) {
+            closed(observer, observer.error);
+            return;
+        }
+
+        ping();
+    }
+
+    private void closed(HealthObserver observer, Throwable error) {
+        observer.error = error;
+        observer.done = true;
+
+        // Only the first one closing the current stream schedules its reopen
+        if (!this.stream.compareAndSet(observer, null)) {
+            return;
+        }
+
+        this.lastError = error;
+
+        long now = System.nanoTime();
+
+        // A stream that stayed up longer than the max backoff was healthy, start over from the initial backoff
+        if (now - observer.openedAtNanos > this.maxBackoffNanos) {
+            this.backoffNanos = INITIAL_BACKOFF_NANOS;
+        }
+
+        this.opening.set(true);
+        reopenAfterBackoff();
+    }
+
+    private void reopenAfterBackoff() {
+        if (this.shutdown) {
+            return;
+        }
+
+        long jitter = ThreadLocalRandom.current().nextLong(this.backoffNanos / 5 + 1);
+        long delay = this.backoffNanos + jitter;
+        this.backoffNanos = Math.min(this.backoffNanos * 2, this.maxBackoffNanos);
+
+        this.scheduler.schedule(this::open, AgonesTaskScheduler.NOTHING_WAITING, delay);
+    }
+
+    private class HealthObserver implements StreamObserver<Sdk.Empty> {
+
+        private final long openedAtNanos;
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+        private volatile StreamObserver<Sdk.Empty> requests;
+        private volatile Throwable error;
+        private volatile boolean done;
+
+        private HealthObserver(long openedAtNanos) {
+            this.openedAtNanos = openedAtNanos;
+        }
+
+        @Override
+        public void onNext(Sdk.Empty value) {
+            //Health only replies when the stream is closed
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            closed(this, t);
+            this.closed.complete(null);
+        }
+
+        @Override
+        public void onCompleted() {
+            closed(this, null);
+            this.closed.complete(null);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.agones.sdk;
+
+import java.util.Arrays;
+
+/**
+ * Set of small non-negative ints, such as {@link AgonesPlayerTable} handles, without boxing.
+ * <p>
+ * Adding, removing and checking a value are constant time, clearing too, and none of them allocate
+ * unless the set has to grow. Iterate with {@link #size()} and {@link #get(int)}, in no particular order.
+ * <p>
+ * Not thread-safe.
+ */
+public class AgonesIntSet {
+
+    /**
+     * Index of each value in {@link #dense}, only meaningful when that slot holds the value back
+     */
+    private int[] sparse;
+    private int[] dense;
+    private int size;
+
+    /**
+     * @param expectedMaxValue values up to this one are added without growing the set
+     */
+    public AgonesIntSet(int expectedMaxValue) {
+        this.sparse = new int[Math.max(1, expectedMaxValue + 1)];
+        this.dense = new int[Math.max(1, expectedMaxValue + 1)];
+    }
+
+    /**
+     * @param value non-negative value
+     * @return true if the value was not in the set
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative, got " + value);
+        }
+
+        if (contains(value)) {
+            return false;
+        }
+
+        if (value >= this.sparse.length) {
+            this.sparse = Arrays.copyOf(this.sparse, Math.max(value + 1, this.sparse.length * 2));
+        }
+
+        if (this.size == this.dense.length) {
+            this.dense = Arrays.copyOf(this.dense, this.dense.length * 2);
+        }
+
+        this.dense[this.size] = value;
+        this.sparse[value] = this.size;
+        this.size++;
+
+        return true;
+    }
+
+    /**
+     * @param value value to remove
+     * @return true if the value was in the set
+     */
+    public boolean remove(int value) {
+        if (!contains(value)) {
+            return false;
+        }
+
+        int index = this.sparse[value];
+        int last = this.dense[--this.size];
+
+        this.dense[index] = last;
+        this.sparse[last] = index;
+
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0 || value >= this.sparse.length) {
+            return false;
+        }
+
+        int index = this.sparse[value];
+
+        return index < this.size && this.dense[index] == value;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param index index between 0 and {@link #size()} excluded
+     * @return value at this index, indexes change when values are removed
+     */
+    public int get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + this.size);
+        }
+
+        return this.dense[index];
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Fills {@code into} with the values of {@code set} missing from {@code other}, e.g. the players who left
+     * between two snapshots
+     *
+     * @param set values to keep
+     * @param other values to exclude
+     * @param into cleared then filled with the difference, must not be one of the other sets
+     */
+    public static void difference(AgonesIntSet set, AgonesIntSet other, AgonesIntSet into) {
+        into.clear();
+
+        for (int i = 0; i < set.size; i++) {
+            int value = set.dense[i];
+
+            if (!other.contains(value)) {
+                into.add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram.
+ * <p>
+ * Values below 32 are recorded exactly, larger values fall in one of the 16 buckets splitting each power of two,
+ * so any percentile is reported within about 6% of the recorded value.
+ */
+public class AgonesLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+
+        this.counts.incrementAndGet(index(recorded));
+        this.count.increment();
+        this.sum.add(recorded);
+
+        long currentMax;
+        do {
+            currentMax = this.max.get();
+        } while (recorded > currentMax && !this.max.compareAndSet(currentMax, recorded));
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return highest recorded value
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return mean of the recorded values
+     */
+    public double getMean() {
+        long count = this.count.sum();
+
+        return count == 0 ? 0 : (double) this.sum.sum() / count;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket holding the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.counts.get(i);
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+
+            if (seen >= target) {
+                return Math.min(upperBound(i), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long mantissa = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
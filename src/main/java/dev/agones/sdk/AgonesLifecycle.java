@@ -0,0 +1,311 @@
+package dev.agones.sdk;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Client-side Game Server lifecycle.
+ * <p>
+ * Transitions are appended to a lock-free queue and sent one at a time, in the order they were requested,
+ * each one after the previous call completed. Each request is checked against the last requested state:
+ * <ul>
+ *     <li>requesting the state already requested returns the future of that transition, except for
+ *     {@link AgonesLifecycleState#RESERVED} which restarts the reservation</li>
+ *     <li>nothing but {@link AgonesLifecycleState#SHUTDOWN} is accepted after a shutdown,
+ *     and an allocated Game Server cannot be reserved. These are rejected with an {@link IllegalStateException}
+ *     without calling the sidecar.</li>
+ * </ul>
+ * The state observed on the watch stream replaces the last requested state while no transition is pending,
+ * so changes made outside of this SDK, like an allocation, are taken into account.
+ * Transitions complete on the reply of the sidecar, usually before the watch stream reports them, so until
+ * the watch stream confirms the last transition, only the states that can follow it without a call of this SDK
+ * replace it, and late updates still reporting the previous state are ignored.
+ *
+ * @see AgonesSDK#enableLifecycle()
+ */
+public class AgonesLifecycle {
+
+    private final AgonesSDK sdk;
+
+    /**
+     * Last requested transition, new ones are validated against its target
+     */
+    private final AtomicReference<Transition> tail;
+    /**
+     * Last completed transition, only written by the transition being sent
+     */
+    private volatile Transition head;
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private volatile AgonesLifecycleState observed = AgonesLifecycleState.UNKNOWN;
+    private final Map<AgonesLifecycleState, CompletableFuture<Void>> waiters = new ConcurrentHashMap<>();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    AgonesLifecycle(AgonesSDK sdk) {
+        this.sdk = sdk;
+
+        Transition initial = Transition.observed(AgonesLifecycleState.UNKNOWN);
+        this.head = initial;
+        this.tail = new AtomicReference<>(initial);
+    }
+
+    /**
+     * @return state last reported by the watch stream
+     */
+    public AgonesLifecycleState getState() {
+        return this.observed;
+    }
+
+    /**
+     * @return target of the last accepted transition, or the observed state if it replaced it
+     */
+    public AgonesLifecycleState getRequestedState() {
+        return this.tail.get().target;
+    }
+
+    /**
+     * Confirms a transition against the watch stream
+     *
+     * @param state expected state
+     * @return completes when the watch stream reports {@code state}, immediately if it is the current one
+     */
+    public CompletableFuture<Void> whenState(AgonesLifecycleState state) {
+        if (this.observed == state) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = this.waiters.computeIfAbsent(state, s -> new CompletableFuture<>());
+
+        // The state may have been observed before the waiter was registered
+        if (this.observed == state) {
+            this.waiters.remove(state, waiter);
+            waiter.complete(null);
+        }
+
+        return waiter;
+    }
+
+    /**
+     * @return number of transitions sent to the sidecar
+     */
+    public long getSentCount() {
+        return this.sent.get();
+    }
+
+    /**
+     * @return number of requests collapsed into the previous identical transition
+     */
+    public long getCollapsedCount() {
+        return this.collapsed.get();
+    }
+
+    /**
+     * @return number of invalid requests rejected locally
+     */
+    public long getRejectedCount() {
+        return this.rejected.get();
+    }
+
+    /**
+     * @return completes once every transition requested so far completed
+     */
+    CompletableFuture<Void> idle() {
+        return this.tail.get().future;
+    }
+
+    CompletableFuture<Void> ready() {
+        return request(AgonesLifecycleState.READY, 0);
+    }
+
+    CompletableFuture<Void> allocate() {
+        return request(AgonesLifecycleState.ALLOCATED, 0);
+    }
+
+    CompletableFuture<Void> reserve(int seconds) {
+        return request(AgonesLifecycleState.RESERVED, seconds);
+    }
+
+    CompletableFuture<Void> shutdown() {
+        return request(AgonesLifecycleState.SHUTDOWN, 0);
+    }
+
+    void onEvent(AgonesWatchHub.Event event) {
+        if (event.error != null) {
+            return;
+        }
+
+        AgonesLifecycleState state = AgonesLifecycleState.fromAgonesState(event.gameServer.getStatus().getState());
+        this.observed = state;
+
+        CompletableFuture<Void> waiter = this.waiters.remove(state);
+        if (waiter != null) {
+            waiter.complete(null);
+        }
+
+        Transition last = this.tail.get();
+        // A late update must never undo a shutdown
+        if (last != this.head || last.target == AgonesLifecycleState.SHUTDOWN) {
+            return;
+        }
+
+        if (last.target == state) {
+            last.confirmed = true;
+        } else if (last.confirmed || canFollow(last.target, state)) {
+            append(last, Transition.observed(state));
+        }
+    }
+
+    /**
+     * @return true if the Game Server can move from {@code target} to {@code state} without a call of this SDK:
+     * an allocation, the end of a reservation, a shutdown or a failed health check
+     */
+    private static boolean canFollow(AgonesLifecycleState target, AgonesLifecycleState state) {
+        switch (state) {
+            case SHUTDOWN:
+            case UNHEALTHY:
+                return true;
+            case ALLOCATED:
+                return target == AgonesLifecycleState.READY || target == AgonesLifecycleState.RESERVED;
+            case READY:
+                return target == AgonesLifecycleState.RESERVED;
+            default:
+                return false;
+        }
+    }
+
+    private CompletableFuture<Void> request(AgonesLifecycleState target, int seconds) {
+        Transition transition = new Transition(target, seconds, false);
+
+        while (true) {
+            Transition last = this.tail.get();
+
+            if ((last.target == AgonesLifecycleState.SHUTDOWN && target != AgonesLifecycleState.SHUTDOWN)
+                    || (last.target == AgonesLifecycleState.ALLOCATED && target == AgonesLifecycleState.RESERVED)) {
+                this.rejected.incrementAndGet();
+
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException(
+                        "Cannot request " + target + " after " + last.target));
+                return future;
+            }
+
+            if (last.target == target && target != AgonesLifecycleState.RESERVED) {
+                this.collapsed.incrementAndGet();
+                return last.future;
+            }
+
+            if (append(last, transition)) {
+                return transition.future;
+            }
+        }
+    }
+
+    private boolean append(Transition last, Transition transition) {
+        if (!this.tail.compareAndSet(last, transition)) {
+            return false;
+        }
+
+        last.next = transition;
+        drain();
+
+        return true;
+    }
+
+    private void drain() {
+        while (this.sending.compareAndSet(false, true)) {
+            Transition next = this.head.next;
+
+            if (next == null) {
+                this.sending.set(false);
+
+                // Linked after the check, but before the lock was released
+                if (this.head.next == null) {
+                    return;
+                }
+                continue;
+            }
+
+            if (next.observedOnly) {
+                this.head = next;
+                this.sending.set(false);
+                continue;
+            }
+
+            this.sent.incrementAndGet();
+
+            send(next).whenComplete((empty, error) -> {
+                // The watch stream may have reported the new state before the reply
+                next.confirmed = error == null && this.observed == next.target;
+                this.head = next;
+
+                if (error != null) {
+                    // The requested state was not reached, validate the next requests against the observed one
+                    append(next, Transition.observed(this.observed));
+                }
+
+                this.sending.set(false);
+
+                if (error == null) {
+                    next.future.complete(null);
+                } else {
+                    next.future.completeExceptionally(error);
+                }
+
+                drain();
+            });
+            return;
+        }
+    }
+
+    private CompletableFuture<Void> send(Transition transition) {
+        switch (transition.target) {
+            case READY:
+                return this.sdk.sendReady();
+            case ALLOCATED:
+                return this.sdk.sendAllocate();
+            case RESERVED:
+                return this.sdk.sendReserve(transition.seconds);
+            case SHUTDOWN:
+                return this.sdk.sendShutdown();
+            default:
+                throw new IllegalStateException("Unexpected transition to " + transition.target);
+        }
+    }
+
+    private static class Transition {
+        private final AgonesLifecycleState target;
+        private final int seconds;
+        private final boolean observedOnly;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private volatile Transition next;
+        /**
+         * Set once the watch stream reports the target, observed states are confirmed from the start
+         */
+        private volatile boolean confirmed;
+
+        private Transition(AgonesLifecycleState target, int seconds, boolean observedOnly) {
+            this.target = target;
+            this.seconds = seconds;
+            this.observedOnly = observedOnly;
+        }
+
+        /**
+         * State reported by the watch stream, never sent
+         */
+        private static Transition observed(AgonesLifecycleState state) {
+            Transition transition = new Transition(state, 0, true);
+            transition.confirmed = true;
+            transition.future.complete(null);
+
+            return transition;
+        }
+    }
+}
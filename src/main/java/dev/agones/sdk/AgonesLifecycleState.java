@@ -0,0 +1,49 @@
+package dev.agones.sdk;
+
+/**
+ * Game Server states the SDK can request or observe
+ *
+ * @see AgonesLifecycle
+ */
+public enum AgonesLifecycleState {
+    SCHEDULED("Scheduled"),
+    REQUEST_READY("RequestReady"),
+    READY("Ready"),
+    RESERVED("Reserved"),
+    ALLOCATED("Allocated"),
+    SHUTDOWN("Shutdown"),
+    UNHEALTHY("Unhealthy"),
+    /**
+     * Not observed yet, or any other Agones state
+     */
+    UNKNOWN("");
+
+    private static final AgonesLifecycleState[] VALUES = values();
+
+    private final String agonesState;
+
+    AgonesLifecycleState(String agonesState) {
+        this.agonesState = agonesState;
+    }
+
+    /**
+     * @return state name as reported by {@link AgonesGameServer.Status#getState()}
+     */
+    public String getAgonesState() {
+        return agonesState;
+    }
+
+    /**
+     * @param agonesState state name as reported by {@link AgonesGameServer.Status#getState()}
+     * @return matching state, {@link #UNKNOWN} if none
+     */
+    public static AgonesLifecycleState fromAgonesState(String agonesState) {
+        for (AgonesLifecycleState state : VALUES) {
+            if (state.agonesState.equals(agonesState)) {
+                return state;
+            }
+        }
+
+        return UNKNOWN;
+    }
+}
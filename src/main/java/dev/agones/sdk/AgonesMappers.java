@@ -2,17 +2,36 @@ package dev.agones.sdk;
 
 import dev.agones.sdk.Sdk;
 import dev.agones.sdk.alpha.Alpha;
+import dev.agones.sdk.beta.Beta;
 
 import java.util.List;
 import java.util.function.Function;
 
 class AgonesMappers {
 
-    static final Function<Sdk.GameServer, AgonesGameServer> GAME_SERVER_MAPPER = AgonesGameServer::fromProto;
+    static final Function<Sdk.GameServer, AgonesGameServer> GAME_SERVER_MAPPER = AgonesGameServer::wrap;
+
+    static final Function<Sdk.GameServer, AgonesGameServer> EAGER_GAME_SERVER_MAPPER = AgonesGameServer::fromProto;
 
     static final Function<Alpha.Bool, Boolean> ALPHA_BOOL_MAPPER = Alpha.Bool::getBool;
 
     static final Function<Alpha.Count, Long> ALPHA_COUNT_MAPPER = Alpha.Count::getCount;
 
+    static final Function<Beta.Counter, Long> BETA_COUNTER_COUNT_MAPPER = Beta.Counter::getCount;
+
+    static final Function<Beta.Counter, Long> BETA_COUNTER_CAPACITY_MAPPER = Beta.Counter::getCapacity;
+
+    static final Function<Beta.List, List<String>> BETA_LIST_VALUES_MAPPER = Beta.List::getValuesList;
+
+    static final Function<Beta.List, Long> BETA_LIST_CAPACITY_MAPPER = Beta.List::getCapacity;
+
+    @SuppressWarnings("rawtypes")
+    private static final Function VOID_MAPPER = original -> null;
+
     static final Function<Alpha.PlayerIDList, List<String>> ALPHA_PLAYER_ID_LIST_MAPPER  = Alpha.PlayerIDList::getListList;
+
+    @SuppressWarnings("unchecked")
+    static <R> Function<R, Void> voidMapper() {
+        return (Function<R, Void>) VOID_MAPPER;
+    }
 }
@@ -0,0 +1,121 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.alpha.Alpha;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Caches of the request messages sent repeatedly with the same content.
+ * Protobuf messages are immutable, so a cached message can be sent by any number of concurrent calls.
+ */
+class AgonesMessages {
+
+    /**
+     * Reserve durations up to this value are cached
+     */
+    static final int MAX_CACHED_DURATION_SECONDS = 3600;
+
+    /**
+     * Player capacities up to this value are cached
+     */
+    static final int MAX_CACHED_COUNT = 1024;
+
+    /**
+     * Keys beyond this count are not cached, so unbounded key sets cannot grow the cache forever
+     */
+    static final int MAX_CACHED_KEYS = 256;
+
+    /**
+     * Values cached per key, most keys alternate between a few values
+     */
+    static final int VALUES_PER_KEY = 4;
+
+    private final AtomicReferenceArray<Sdk.Duration> durations =
+            new AtomicReferenceArray<>(MAX_CACHED_DURATION_SECONDS + 1);
+
+    private final AtomicReferenceArray<Alpha.Count> counts = new AtomicReferenceArray<>(MAX_CACHED_COUNT + 1);
+
+    private final Map<String, KeyValues> keyValues = new ConcurrentHashMap<>();
+
+    Sdk.Duration duration(int seconds) {
+        if (seconds < 0 || seconds > MAX_CACHED_DURATION_SECONDS) {
+            return newDuration(seconds);
+        }
+
+        Sdk.Duration duration = this.durations.get(seconds);
+        if (duration == null) {
+            duration = newDuration(seconds);
+            this.durations.lazySet(seconds, duration);
+        }
+
+        return duration;
+    }
+
+    Alpha.Count count(long count) {
+        if (count < 0 || count > MAX_CACHED_COUNT) {
+            return newCount(count);
+        }
+
+        Alpha.Count message = this.counts.get((int) count);
+        if (message == null) {
+            message = newCount(count);
+            this.counts.lazySet((int) count, message);
+        }
+
+        return message;
+    }
+
+    Sdk.KeyValue keyValue(String key, String value) {
+        KeyValues values = this.keyValues.get(key);
+        if (values == null) {
+            if (this.keyValues.size() >= MAX_CACHED_KEYS) {
+                return newKeyValue(key, value);
+            }
+
+            values = this.keyValues.computeIfAbsent(key, k -> new KeyValues());
+        }
+
+        return values.get(key, value);
+    }
+
+    private static Sdk.Duration newDuration(int seconds) {
+        return Sdk.Duration.newBuilder()
+                .setSeconds(seconds)
+                .build();
+    }
+
+    private static Alpha.Count newCount(long count) {
+        return Alpha.Count.newBuilder()
+                .setCount(count)
+                .build();
+    }
+
+    private static Sdk.KeyValue newKeyValue(String key, String value) {
+        return Sdk.KeyValue.newBuilder()
+                .setKey(key)
+                .setValue(value)
+                .build();
+    }
+
+    private static class KeyValues {
+        private final AtomicReferenceArray<Sdk.KeyValue> slots = new AtomicReferenceArray<>(VALUES_PER_KEY);
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Sdk.KeyValue get(String key, String value) {
+            for (int i = 0; i < VALUES_PER_KEY; i++) {
+                Sdk.KeyValue keyValue = this.slots.get(i);
+                if (keyValue != null && keyValue.getValue().equals(value)) {
+                    return keyValue;
+                }
+            }
+
+            Sdk.KeyValue keyValue = newKeyValue(key, value);
+            this.slots.lazySet((this.next.getAndIncrement() & Integer.MAX_VALUE) % VALUES_PER_KEY, keyValue);
+
+            return keyValue;
+        }
+    }
+}
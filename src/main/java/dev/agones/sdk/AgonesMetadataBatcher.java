@@ -0,0 +1,235 @@
+package dev.agones.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces Label and Annotation writes per key.
+ * <p>
+ * Writes are kept pending for the flush window, only the last value of each key is sent,
+ * and every future returned for that key completes with the call that carried it.
+ * A key is never sent again while a previous call for it is still in flight, so writes cannot be reordered.
+ * Writes still pending when the SDK is closed are failed.
+ *
+ * @see AgonesSDK#enableMetadataBatching(long, TimeUnit, int)
+ */
+public class AgonesMetadataBatcher {
+
+    private final AgonesSDK sdk;
+    private final long flushWindowNanos;
+    private final int maxInFlight;
+
+    private final Map<String, PendingWrite> labels = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> annotations = new ConcurrentHashMap<>();
+
+    private final Set<String> inFlightLabels = ConcurrentHashMap.newKeySet();
+    private final Set<String> inFlightAnnotations = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    AgonesMetadataBatcher(AgonesSDK sdk, long flushWindowNanos, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, got " + maxInFlight);
+        }
+
+        this.sdk = sdk;
+        this.flushWindowNanos = flushWindowNanos;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Queues a Label write
+     *
+     * @param key Label key
+     * @param value Label value
+     * @return completes when the flush carrying this key completes
+     */
+    public CompletableFuture<Void> setLabel(String key, String value) {
+        return enqueue(this.labels, key, value);
+    }
+
+    /**
+     * Queues an Annotation write
+     *
+     * @param key Annotation key
+     * @param value Annotation value
+     * @return completes when the flush carrying this key completes
+     */
+    public CompletableFuture<Void> setAnnotation(String key, String value) {
+        return enqueue(this.annotations, key, value);
+    }
+
+    /**
+     * Sends every pending write now, without waiting for the flush window
+     */
+    public void flush() {
+        flush(this.labels, this.inFlightLabels, this.sdk::sendLabel);
+        flush(this.annotations, this.inFlightAnnotations, this.sdk::sendAnnotation);
+
+        if (hasPending()) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * @return number of writes received
+     */
+    public long getWriteCount() {
+        return this.writes.get();
+    }
+
+    /**
+     * @return number of calls actually sent to the sidecar
+     */
+    public long getCallCount() {
+        return this.calls.get();
+    }
+
+    /**
+     * @return number of keys waiting to be flushed
+     */
+    public int getPendingCount() {
+        return this.labels.size() + this.annotations.size();
+    }
+
+    /**
+     * @return true if no write is pending nor in flight
+     */
+    boolean isIdle() {
+        return !hasPending() && this.inFlight.get() == 0;
+    }
+
+    private CompletableFuture<Void> enqueue(Map<String, PendingWrite> pending, String key, String value) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        pending.compute(key, (k, write) -> {
+            if (write == null) {
+                write = new PendingWrite();
+            }
+
+            write.value = value;
+            write.futures.add(future);
+
+            return write;
+        });
+
+        this.writes.incrementAndGet();
+        scheduleFlush();
+
+        return future;
+    }
+
+    private void scheduleFlush() {
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            this.sdk.schedule(() -> {
+                this.flushScheduled.set(false);
+                flush();
+            }, this::close, this.flushWindowNanos);
+        }
+    }
+
+    /**
+     * Fails every pending write, the SDK being closed
+     */
+    private void close(Throwable error) {
+        this.flushScheduled.set(false);
+
+        fail(this.labels, error);
+        fail(this.annotations, error);
+    }
+
+    private static void fail(Map<String, PendingWrite> pending, Throwable error) {
+        for (String key : pending.keySet()) {
+            PendingWrite write = pending.remove(key);
+            if (write != null) {
+                write.complete(error);
+            }
+        }
+    }
+
+    private void flush(
+            Map<String, PendingWrite> pending,
+            Set<String> inFlightKeys,
+            BiFunction<String, String, CompletableFuture<Void>> sender) {
+        for (String key : pending.keySet()) {
+            if (!acquire()) {
+                return;
+            }
+
+            if (!inFlightKeys.add(key)) {
+                release();
+                continue;
+            }
+
+            PendingWrite write = pending.remove(key);
+            if (write == null) {
+                inFlightKeys.remove(key);
+                release();
+                continue;
+            }
+
+            this.calls.incrementAndGet();
+
+            sender.apply(key, write.value)
+                    .whenComplete((empty, error) -> {
+                        inFlightKeys.remove(key);
+                        release();
+
+                        write.complete(error);
+
+                        if (hasPending()) {
+                            scheduleFlush();
+                        }
+                    });
+        }
+    }
+
+    private boolean acquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.maxInFlight) {
+                return false;
+            }
+
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    private boolean hasPending() {
+        return !this.labels.isEmpty() || !this.annotations.isEmpty();
+    }
+
+    private static class PendingWrite {
+        private String value;
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>(1);
+
+        private void complete(Throwable error) {
+            for (CompletableFuture<Void> future : this.futures) {
+                if (error == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.agones.sdk;
+
+/**
+ * Typed Label or Annotation, meant to be declared once as a constant
+ *
+ * @param <T> value type
+ * @see AgonesMetadataStore
+ */
+public final class AgonesMetadataKey<T> {
+
+    /**
+     * Prefix Agones adds to the keys set through the SDK
+     */
+    static final String PREFIX = "agones.dev/sdk-";
+
+    private final String name;
+    private final String storedName;
+    private final boolean label;
+    private final AgonesCodec<T> codec;
+
+    private AgonesMetadataKey(String name, boolean label, AgonesCodec<T> codec) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+
+        // the part of the key after the slash, "sdk-" + name, is limited to 63 characters
+        if (name.length() > 59) {
+            throw new IllegalArgumentException("name must be at most 59 characters, got " + name);
+        }
+
+        this.name = name;
+        this.storedName = PREFIX + name;
+        this.label = label;
+        this.codec = codec;
+    }
+
+    public static <T> AgonesMetadataKey<T> label(String name, AgonesCodec<T> codec) {
+        return new AgonesMetadataKey<>(name, true, codec);
+    }
+
+    public static <T> AgonesMetadataKey<T> annotation(String name, AgonesCodec<T> codec) {
+        return new AgonesMetadataKey<>(name, false, codec);
+    }
+
+    /**
+     * @return key passed to the SDK, without the Agones prefix
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isLabel() {
+        return this.label;
+    }
+
+    public AgonesCodec<T> getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * @return key as stored in the Game Server metadata
+     */
+    String getStoredName() {
+        return this.storedName;
+    }
+
+    @Override
+    public String toString() {
+        return (this.label ? "label " : "annotation ") + this.name;
+    }
+}
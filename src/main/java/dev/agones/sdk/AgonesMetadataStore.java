@@ -0,0 +1,145 @@
+package dev.agones.sdk;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Typed view of the Labels and Annotations set through the SDK.
+ * <p>
+ * Reads use the latest watch update and keep the decoded value of each key,
+ * which is only decoded again when its raw string changes.
+ * Writes are validated against the Kubernetes limits before calling the sidecar.
+ *
+ * @see AgonesSDK#enableMetadataStore()
+ */
+public class AgonesMetadataStore {
+
+    private static final int MAX_LABEL_VALUE_LENGTH = 63;
+    private static final int MAX_ANNOTATION_VALUE_LENGTH = 256 * 1024;
+    private static final Pattern LABEL_VALUE = Pattern.compile("(([A-Za-z0-9][-A-Za-z0-9_.]*)?[A-Za-z0-9])?");
+
+    private final AgonesSDK sdk;
+
+    private volatile Sdk.GameServer gameServer;
+    private final Map<AgonesMetadataKey<?>, Decoded> decoded = new ConcurrentHashMap<>();
+
+    private final AtomicLong decodes = new AtomicLong();
+
+    AgonesMetadataStore(AgonesSDK sdk) {
+        this.sdk = sdk;
+    }
+
+    /**
+     * @param key metadata key
+     * @param <T> value type
+     * @return decoded value, or null if the key is not set or no watch update was received yet
+     * @throws IllegalArgumentException if the raw value cannot be decoded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(AgonesMetadataKey<T> key) {
+        String raw = raw(key);
+        if (raw == null) {
+            return null;
+        }
+
+        Decoded decoded = this.decoded.get(key);
+        if (decoded != null && decoded.raw.equals(raw)) {
+            return (T) decoded.value;
+        }
+
+        T value = key.getCodec().decode(raw);
+        this.decodes.incrementAndGet();
+        this.decoded.put(key, new Decoded(raw, value));
+
+        return value;
+    }
+
+    public <T> T getOrDefault(AgonesMetadataKey<T> key, T defaultValue) {
+        T value = get(key);
+
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * @param key metadata key
+     * @param value new value
+     * @param <T> value type
+     * @return void, fails with {@link IllegalArgumentException} without calling the sidecar
+     * if the encoded value exceeds the Kubernetes limits
+     */
+    public <T> CompletableFuture<Void> set(AgonesMetadataKey<T> key, T value) {
+        String raw = key.getCodec().encode(value);
+
+        String error = validate(key, raw);
+        if (error != null) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException(error));
+            return future;
+        }
+
+        CompletableFuture<Void> future = key.isLabel()
+                ? this.sdk.setLabel(key.getName(), raw)
+                : this.sdk.setAnnotation(key.getName(), raw);
+
+        // the next watch update carrying this value is then read without decoding it
+        return future.thenRun(() -> this.decoded.put(key, new Decoded(raw, value)));
+    }
+
+    /**
+     * @return number of raw values decoded, every other read used a cached value
+     */
+    public long getDecodeCount() {
+        return this.decodes.get();
+    }
+
+    void onEvent(AgonesWatchHub.Event event) {
+        if (event.error == null) {
+            this.gameServer = event.proto;
+        }
+    }
+
+    private String raw(AgonesMetadataKey<?> key) {
+        Sdk.GameServer gameServer = this.gameServer;
+        if (gameServer == null) {
+            return null;
+        }
+
+        Sdk.GameServer.ObjectMeta meta = gameServer.getObjectMeta();
+        Map<String, String> values = key.isLabel() ? meta.getLabelsMap() : meta.getAnnotationsMap();
+
+        return values.get(key.getStoredName());
+    }
+
+    private static String validate(AgonesMetadataKey<?> key, String raw) {
+        if (raw == null) {
+            return key + " encoded to null";
+        }
+
+        if (key.isLabel()) {
+            if (raw.length() > MAX_LABEL_VALUE_LENGTH) {
+                return key + " value must be at most " + MAX_LABEL_VALUE_LENGTH + " characters, got " + raw.length();
+            }
+
+            if (!LABEL_VALUE.matcher(raw).matches()) {
+                return key + " value is not a valid Label value: " + raw;
+            }
+        } else if (raw.length() > MAX_ANNOTATION_VALUE_LENGTH) {
+            return key + " value must be at most " + MAX_ANNOTATION_VALUE_LENGTH + " characters, got " + raw.length();
+        }
+
+        return null;
+    }
+
+    private static class Decoded {
+        private final String raw;
+        private final Object value;
+
+        private Decoded(String raw, Object value) {
+            this.raw = raw;
+            this.value = value;
+        }
+    }
+}
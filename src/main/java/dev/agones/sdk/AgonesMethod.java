@@ -0,0 +1,100 @@
+package dev.agones.sdk;
+
+/**
+ * Unary calls of the Agones SDK, with whether they are safe to retry and their priority class
+ *
+ * @see AgonesCallPolicy
+ */
+public enum AgonesMethod {
+    READY("SDK/Ready", true, AgonesCallPriority.LIFECYCLE),
+    ALLOCATE("SDK/Allocate", true, AgonesCallPriority.LIFECYCLE),
+    SHUTDOWN("SDK/Shutdown", true, AgonesCallPriority.LIFECYCLE),
+    GET_GAME_SERVER("SDK/GetGameServer", true, AgonesCallPriority.LIFECYCLE),
+    SET_LABEL("SDK/SetLabel", true, AgonesCallPriority.METADATA),
+    SET_ANNOTATION("SDK/SetAnnotation", true, AgonesCallPriority.METADATA),
+    /**
+     * A retry restarts the reservation period, extending it by the time the failed attempt took
+     */
+    RESERVE("SDK/Reserve", true, AgonesCallPriority.LIFECYCLE),
+
+    /**
+     * Not retried, an attempt that reached the sidecar before failing would make the retry return false
+     */
+    PLAYER_CONNECT("alpha.SDK/PlayerConnect", false, AgonesCallPriority.PLAYER),
+    /**
+     * Not retried, an attempt that reached the sidecar before failing would make the retry return false
+     */
+    PLAYER_DISCONNECT("alpha.SDK/PlayerDisconnect", false, AgonesCallPriority.PLAYER),
+    SET_PLAYER_CAPACITY("alpha.SDK/SetPlayerCapacity", true, AgonesCallPriority.PLAYER),
+    GET_PLAYER_CAPACITY("alpha.SDK/GetPlayerCapacity", true, AgonesCallPriority.PLAYER),
+    GET_PLAYER_COUNT("alpha.SDK/GetPlayerCount", true, AgonesCallPriority.PLAYER),
+    IS_PLAYER_CONNECTED("alpha.SDK/IsPlayerConnected", true, AgonesCallPriority.PLAYER),
+    GET_CONNECTED_PLAYERS("alpha.SDK/GetConnectedPlayers", true, AgonesCallPriority.PLAYER),
+
+    GET_COUNTER("beta.SDK/GetCounter", true, AgonesCallPriority.PLAYER),
+    /**
+     * Counter update setting the count or capacity, sent as {@literal UpdateCounter} but reported on its own
+     * so retried absolute sets and count differences do not share a series
+     */
+    SET_COUNTER("beta.SDK/SetCounter", "beta.SDK/UpdateCounter", true, AgonesCallPriority.PLAYER),
+    /**
+     * Not retried, an attempt that reached the sidecar before failing would apply the count difference twice
+     */
+    UPDATE_COUNTER("beta.SDK/UpdateCounter", false, AgonesCallPriority.PLAYER),
+    GET_LIST("beta.SDK/GetList", true, AgonesCallPriority.PLAYER),
+    UPDATE_LIST("beta.SDK/UpdateList", true, AgonesCallPriority.PLAYER),
+    /**
+     * Not retried, an attempt that reached the sidecar before failing would make the retry fail with
+     * {@literal ALREADY_EXISTS}
+     */
+    ADD_LIST_VALUE("beta.SDK/AddListValue", false, AgonesCallPriority.PLAYER),
+    /**
+     * Not retried, an attempt that reached the sidecar before failing would make the retry fail with
+     * {@literal NOT_FOUND}
+     */
+    REMOVE_LIST_VALUE("beta.SDK/RemoveListValue", false, AgonesCallPriority.PLAYER);
+
+    private final String name;
+    private final boolean renamed;
+    private final boolean idempotent;
+    private final AgonesCallPriority priority;
+
+    AgonesMethod(String name, boolean idempotent, AgonesCallPriority priority) {
+        this(name, name, idempotent, priority);
+    }
+
+    AgonesMethod(String name, String callName, boolean idempotent, AgonesCallPriority priority) {
+        this.name = name;
+        this.renamed = !name.equals(callName);
+        this.idempotent = idempotent;
+        this.priority = priority;
+    }
+
+    /**
+     * @return method name as reported to {@link AgonesMetrics}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the name reported differs from the gRPC method called
+     */
+    boolean isRenamed() {
+        return renamed;
+    }
+
+    /**
+     * @return true if the call can be sent again after a failure without changing its outcome
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * @return class the calls are queued in by the {@link AgonesDispatchScheduler}
+     */
+    public AgonesCallPriority getPriority() {
+        return priority;
+    }
+}
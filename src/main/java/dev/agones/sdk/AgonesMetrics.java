@@ -0,0 +1,83 @@
+package dev.agones.sdk;
+
+import io.grpc.Status;
+
+/**
+ * Receives the measurements of every call made by the SDK.
+ * <p>
+ * Implementations are called on the gRPC threads and must not block.
+ * The method names are the gRPC service and method names relative to the {@literal agones.dev.sdk} package,
+ * e.g. {@literal SDK/Ready} or {@literal alpha.SDK/PlayerConnect}.
+ *
+ * @see AgonesMetricsRecorder
+ * @see AgonesSDK.Builder#metrics(AgonesMetrics)
+ */
+public interface AgonesMetrics {
+
+    /**
+     * @return metrics implementation ignoring every measurement
+     */
+    static AgonesMetrics noop() {
+        return AgonesMetricsRecorder.NOOP;
+    }
+
+    /**
+     * Called when a call starts
+     *
+     * @param method method name
+     */
+    default void callStarted(String method) {
+    }
+
+    /**
+     * Called when a call completes, successfully or not.
+     * For the streaming calls, the latency is the lifetime of the stream.
+     *
+     * @param method method name
+     * @param code status code the call completed with
+     * @param latencyNanos call duration in nanoseconds
+     */
+    default void callCompleted(String method, Status.Code code, long latencyNanos) {
+    }
+
+    /**
+     * Called when another attempt of a unary call is sent, after a retryable failure or as a hedge.
+     * Every attempt is also reported as a call of its own, so the per-attempt latency is in
+     * {@link #callCompleted(String, Status.Code, long)}.
+     *
+     * @param method method name
+     * @param attempt attempt number, 2 for the first retry
+     */
+    default void callRetried(String method, int attempt) {
+    }
+
+    /**
+     * Called when the {@link AgonesDispatchScheduler} sends a queued call
+     *
+     * @param priority priority class of the call
+     * @param waitNanos time the call waited in the queue, in nanoseconds
+     */
+    default void callAdmitted(AgonesCallPriority priority, long waitNanos) {
+    }
+
+    /**
+     * Called when the sidecar first answers the {@link AgonesStartup} probes
+     *
+     * @param timeToReadyNanos time from the start of the startup to the first answer, in nanoseconds
+     * @param probes number of probes sent, 1 if the sidecar answered the first one
+     */
+    default void startupCompleted(long timeToReadyNanos, int probes) {
+    }
+
+    /**
+     * Called for every ping sent on the health stream
+     */
+    default void healthPing() {
+    }
+
+    /**
+     * Called for every Game Server update received on a watch stream
+     */
+    default void watchEvent() {
+    }
+}
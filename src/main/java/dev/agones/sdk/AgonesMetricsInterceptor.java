@@ -0,0 +1,91 @@
+package dev.agones.sdk;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports every call to the configured {@link AgonesMetrics}
+ */
+class AgonesMetricsInterceptor implements ClientInterceptor {
+
+    private static final String PACKAGE_PREFIX = "agones.dev.sdk.";
+
+    /**
+     * Name reported instead of the gRPC method name, see {@link AgonesMethod#isRenamed()}
+     */
+    static final CallOptions.Key<String> METHOD_NAME = CallOptions.Key.createWithDefault("agones-method-name", null);
+
+    private static final Map<String, String> METHOD_NAMES = new ConcurrentHashMap<>();
+
+    private final AgonesMetrics metrics;
+
+    AgonesMetricsInterceptor(AgonesMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param fullMethodName gRPC full method name, e.g. {@literal agones.dev.sdk.SDK/Ready}
+     * @return method name relative to the {@literal agones.dev.sdk} package, e.g. {@literal SDK/Ready}
+     */
+    static String methodName(String fullMethodName) {
+        return METHOD_NAMES.computeIfAbsent(fullMethodName, name ->
+                name.startsWith(PACKAGE_PREFIX) ? name.substring(PACKAGE_PREFIX.length()) : name);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next) {
+        String renamed = callOptions.getOption(METHOD_NAME);
+        String methodName = renamed != null ? renamed : methodName(method.getFullMethodName());
+        boolean health = methodName.equals("SDK/Health");
+        boolean watch = methodName.equals("SDK/WatchGameServer");
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                long start = System.nanoTime();
+                metrics.callStarted(methodName);
+
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        if (watch) {
+                            metrics.watchEvent();
+                        }
+
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        metrics.callCompleted(methodName, status.getCode(), System.nanoTime() - start);
+
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (health) {
+                    metrics.healthPing();
+                }
+
+                super.sendMessage(message);
+            }
+        };
+    }
+}
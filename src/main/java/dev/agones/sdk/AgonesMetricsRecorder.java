@@ -0,0 +1,174 @@
+package dev.agones.sdk;
+
+import io.grpc.Status;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link AgonesMetrics}, used by default.
+ * <p>
+ * Keeps a {@link AgonesLatencyHistogram} per method, the number of calls completed with each status code,
+ * the number of calls in flight and retried, the time to ready of the {@link AgonesStartup},
+ * and the health ping and watch event counts.
+ */
+public class AgonesMetricsRecorder implements AgonesMetrics {
+
+    static final AgonesMetrics NOOP = new AgonesMetrics() {
+    };
+
+    private static final Status.Code[] CODES = Status.Code.values();
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    private final AgonesLatencyHistogram timeToReady = new AgonesLatencyHistogram();
+    private final LongAdder healthPings = new LongAdder();
+    private final LongAdder watchEvents = new LongAdder();
+
+    @Override
+    public void callStarted(String method) {
+        methodMetrics(method).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void callCompleted(String method, Status.Code code, long latencyNanos) {
+        MethodMetrics metrics = methodMetrics(method);
+
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(latencyNanos);
+        metrics.codes.incrementAndGet(code.ordinal());
+    }
+
+    @Override
+    public void callRetried(String method, int attempt) {
+        methodMetrics(method).retries.incrementAndGet();
+    }
+
+    @Override
+    public void startupCompleted(long timeToReadyNanos, int probes) {
+        this.timeToReady.record(timeToReadyNanos);
+    }
+
+    @Override
+    public void healthPing() {
+        this.healthPings.increment();
+    }
+
+    @Override
+    public void watchEvent() {
+        this.watchEvents.increment();
+    }
+
+    /**
+     * @param method method name, e.g. {@literal SDK/Ready}
+     * @return latency histogram of the method in nanoseconds, or null if it was never called
+     */
+    public AgonesLatencyHistogram getLatency(String method) {
+        MethodMetrics metrics = this.methods.get(method);
+
+        return metrics == null ? null : metrics.latency;
+    }
+
+    /**
+     * @return latency histogram of every called method, in nanoseconds
+     */
+    public Map<String, AgonesLatencyHistogram> getLatencies() {
+        Map<String, AgonesLatencyHistogram> latencies = new TreeMap<>();
+        this.methods.forEach((method, metrics) -> latencies.put(method, metrics.latency));
+
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    /**
+     * @param method method name
+     * @param code status code
+     * @return number of calls of the method completed with this status code
+     */
+    public long getCallCount(String method, Status.Code code) {
+        MethodMetrics metrics = this.methods.get(method);
+
+        return metrics == null ? 0 : metrics.codes.get(code.ordinal());
+    }
+
+    /**
+     * @param method method name
+     * @return number of calls of the method completed with a status other than {@link Status.Code#OK}
+     */
+    public long getErrorCount(String method) {
+        MethodMetrics metrics = this.methods.get(method);
+        if (metrics == null) {
+            return 0;
+        }
+
+        long errors = 0;
+        for (Status.Code code : CODES) {
+            if (code != Status.Code.OK) {
+                errors += metrics.codes.get(code.ordinal());
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * @param method method name
+     * @return number of calls of the method currently in flight
+     */
+    public long getInFlight(String method) {
+        MethodMetrics metrics = this.methods.get(method);
+
+        return metrics == null ? 0 : metrics.inFlight.get();
+    }
+
+    /**
+     * @param method method name
+     * @return number of retried and hedged attempts sent for the method
+     */
+    public long getRetryCount(String method) {
+        MethodMetrics metrics = this.methods.get(method);
+
+        return metrics == null ? 0 : metrics.retries.get();
+    }
+
+    /**
+     * @return time to ready histogram of the SDK instances started with this recorder, in nanoseconds
+     */
+    public AgonesLatencyHistogram getTimeToReady() {
+        return this.timeToReady;
+    }
+
+    /**
+     * @return number of health pings sent
+     */
+    public long getHealthPingCount() {
+        return this.healthPings.sum();
+    }
+
+    /**
+     * @return number of Game Server updates received on watch streams
+     */
+    public long getWatchEventCount() {
+        return this.watchEvents.sum();
+    }
+
+    private MethodMetrics methodMetrics(String method) {
+        MethodMetrics metrics = this.methods.get(method);
+        if (metrics == null) {
+            metrics = this.methods.computeIfAbsent(method, name -> new MethodMetrics());
+        }
+
+        return metrics;
+    }
+
+    private static class MethodMetrics {
+        private final AgonesLatencyHistogram latency = new AgonesLatencyHistogram();
+        private final AtomicLongArray codes = new AtomicLongArray(CODES.length);
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+    }
+}
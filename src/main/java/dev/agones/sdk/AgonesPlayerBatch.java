@@ -0,0 +1,135 @@
+package dev.agones.sdk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sends one player call per id, keeping at most {@code maxInFlight} of them in flight,
+ * and completes with the outcome of each player once every call completed. A failed call only fails its own player.
+ */
+class AgonesPlayerBatch {
+
+    private final Collection<String> playerIds;
+    private final List<String> sent = new ArrayList<>();
+    private final Function<String, CompletableFuture<Boolean>> call;
+    private final int maxInFlight;
+
+    private final Map<String, AgonesPlayerResult> results = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    /**
+     * Calls left to send by the thread currently sending, see {@link #send(int)}
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private final CompletableFuture<Map<String, AgonesPlayerResult>> future = new CompletableFuture<>();
+
+    /**
+     * @param playerIds player ids, duplicates are only sent once
+     * @param call call sent for each player
+     * @param maxInFlight maximum number of concurrent calls
+     * @param known ids whose result is known without calling the sidecar, may be null
+     * @param knownResult result of the {@code known} ids
+     */
+    AgonesPlayerBatch(
+            Collection<String> playerIds,
+            Function<String, CompletableFuture<Boolean>> call,
+            int maxInFlight,
+            Predicate<String> known,
+            boolean knownResult) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, got " + maxInFlight);
+        }
+
+        this.playerIds = new LinkedHashSet<>(playerIds);
+        this.call = call;
+        this.maxInFlight = maxInFlight;
+
+        for (String playerId : this.playerIds) {
+            if (known != null && known.test(playerId)) {
+                this.results.put(playerId, AgonesPlayerResult.of(knownResult));
+            } else {
+                this.sent.add(playerId);
+            }
+        }
+
+        this.remaining = new AtomicInteger(this.sent.size());
+    }
+
+    CompletableFuture<Map<String, AgonesPlayerResult>> start() {
+        if (this.sent.isEmpty()) {
+            complete();
+            return this.future;
+        }
+
+        send(Math.min(this.maxInFlight, this.sent.size()));
+
+        return this.future;
+    }
+
+    /**
+     * Sends {@code calls} more calls. Calls completing inline, e.g. on a closed SDK, only add to {@link #wip}
+     * and the thread already sending sends their successors, so the stack does not grow with the player count.
+     */
+    private void send(int calls) {
+        if (this.wip.getAndAdd(calls) != 0) {
+            return;
+        }
+
+        int missed = calls;
+        do {
+            for (int i = 0; i < missed; i++) {
+                sendNext();
+            }
+
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void sendNext() {
+        int index = this.next.getAndIncrement();
+        if (index >= this.sent.size()) {
+            return;
+        }
+
+        String playerId = this.sent.get(index);
+        CompletableFuture<Boolean> result;
+
+        try {
+            result = this.call.apply(playerId);
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+
+        result.whenComplete((value, error) -> {
+            this.results.put(playerId, error == null
+                    ? AgonesPlayerResult.of(value)
+                    : AgonesPlayerResult.failed(error));
+
+            if (this.remaining.decrementAndGet() == 0) {
+                complete();
+            } else {
+                send(1);
+            }
+        });
+    }
+
+    private void complete() {
+        Map<String, AgonesPlayerResult> results = new LinkedHashMap<>();
+        for (String playerId : this.playerIds) {
+            results.put(playerId, this.results.get(playerId));
+        }
+
+        this.future.complete(results);
+    }
+}
@@ -0,0 +1,271 @@
+package dev.agones.sdk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Client-side registry of the connected players.
+ * <p>
+ * {@link AgonesAlphaSDK#playerConnect(String)} and {@link AgonesAlphaSDK#playerDisconnect(String)}
+ * are applied optimistically and reverted if the call fails, so reads never need a round trip to the sidecar.
+ * The registry is resynchronized from {@link AgonesAlphaSDK#getConnectedPlayers()} whenever
+ * a {@link AgonesSDK#watchGameServer} update disagrees with it.
+ * <p>
+ * Reads only reflect the sidecar once {@link #whenSynced()} completed, the initial resync is retried
+ * with backoff until it succeeds. A resync replaces every player except those with a call in flight,
+ * or completed while the resync was in flight, whose local state is newer than the sidecar answer.
+ *
+ * @see AgonesAlphaSDK#enablePlayerRegistry()
+ */
+public class AgonesPlayerRegistry {
+
+    static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AgonesAlphaSDK alpha;
+    private final AgonesTaskScheduler scheduler;
+
+    private final Set<String> players = ConcurrentHashMap.newKeySet();
+
+    private final Object lock = new Object();
+    // Guarded by lock, so a resync result is applied without racing with a local change
+    private final Map<String, Integer> inFlight = new HashMap<>();
+    private final Set<String> raced = new HashSet<>();
+    private boolean resyncing;
+    private boolean stopped;
+    private long backoffNanos = INITIAL_BACKOFF_NANOS;
+
+    private final CompletableFuture<Void> synced = new CompletableFuture<>();
+    private volatile AgonesWatchSubscription subscription;
+
+    private final AtomicLong resyncCount = new AtomicLong();
+
+    AgonesPlayerRegistry(AgonesAlphaSDK alpha, AgonesTaskScheduler scheduler) {
+        this.alpha = alpha;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param playerId player id to check
+     * @return true if the {@code playerId} is currently connected
+     */
+    public boolean isPlayerConnected(String playerId) {
+        return this.players.contains(playerId);
+    }
+
+    /**
+     * @return current player count
+     */
+    public long getPlayerCount() {
+        return this.players.size();
+    }
+
+    /**
+     * @return a copy of the currently connected player ids
+     */
+    public List<String> getConnectedPlayers() {
+        return new ArrayList<>(this.players);
+    }
+
+    /**
+     * @return true once the registry was synchronized with the sidecar,
+     * before that it only holds the players changed through this SDK
+     */
+    public boolean isSynced() {
+        return this.synced.isDone() && !this.synced.isCompletedExceptionally();
+    }
+
+    /**
+     * @return completes once the registry was synchronized with the sidecar,
+     * or fails if the SDK is closed first
+     */
+    public CompletableFuture<Void> whenSynced() {
+        return this.synced.thenApply(Function.identity());
+    }
+
+    /**
+     * @return how many times the registry was resynchronized with the sidecar
+     */
+    public long getResyncCount() {
+        return this.resyncCount.get();
+    }
+
+    void start(AgonesWatchSubscription subscription) {
+        this.subscription = subscription;
+        resync();
+    }
+
+    /**
+     * Stops following the watch and retrying the initial resync
+     */
+    void stop() {
+        synchronized (this.lock) {
+            this.stopped = true;
+        }
+
+        AgonesWatchSubscription subscription = this.subscription;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+
+        this.synced.completeExceptionally(new IllegalStateException("The player registry was disabled"));
+    }
+
+    CompletableFuture<Boolean> playerConnect(String playerId) {
+        boolean added;
+        synchronized (this.lock) {
+            this.inFlight.merge(playerId, 1, Integer::sum);
+            added = this.players.add(playerId);
+        }
+
+        return this.alpha.sendPlayerConnect(playerId)
+                .whenComplete((connected, error) ->
+                        // false means the sidecar already knew the player, so it is connected either way
+                        completed(playerId, error != null && added ? this.players::remove : null));
+    }
+
+    CompletableFuture<Boolean> playerDisconnect(String playerId) {
+        boolean removed;
+        synchronized (this.lock) {
+            this.inFlight.merge(playerId, 1, Integer::sum);
+            removed = this.players.remove(playerId);
+        }
+
+        return this.alpha.sendPlayerDisconnect(playerId)
+                .whenComplete((disconnected, error) ->
+                        completed(playerId, error != null && removed ? this.players::add : null));
+    }
+
+    /**
+     * Replaces the registry content with the player list held by the sidecar.
+     * Does nothing if a resync is already in progress.
+     */
+    public void resync() {
+        synchronized (this.lock) {
+            if (this.resyncing || this.stopped) {
+                return;
+            }
+
+            this.resyncing = true;
+            this.raced.clear();
+        }
+
+        this.alpha.fetchConnectedPlayers()
+                .whenComplete((connectedPlayers, error) -> {
+                    long retryNanos = -1;
+
+                    synchronized (this.lock) {
+                        this.resyncing = false;
+
+                        if (error == null) {
+                            replacePlayers(connectedPlayers);
+                            this.backoffNanos = INITIAL_BACKOFF_NANOS;
+                        } else if (!this.synced.isDone() && !this.stopped) {
+                            // the watch only asks again on a mismatch, the initial resync has to be retried
+                            retryNanos = this.backoffNanos + ThreadLocalRandom.current().nextLong(this.backoffNanos / 5 + 1);
+                            this.backoffNanos = Math.min(this.backoffNanos * 2, MAX_BACKOFF_NANOS);
+                        }
+
+                        this.raced.clear();
+                    }
+
+                    if (error == null) {
+                        this.resyncCount.incrementAndGet();
+                        this.synced.complete(null);
+                    } else if (retryNanos >= 0) {
+                        this.scheduler.schedule(this::resync, this.synced::completeExceptionally, retryNanos);
+                    }
+                });
+    }
+
+    void onGameServer(AgonesGameServer gameServer, Throwable error) {
+        if (error != null) {
+            return;
+        }
+
+        List<String> ids = gameServer.getStatus().getPlayers().getIds();
+        if (!matches(ids)) {
+            resync();
+        }
+    }
+
+    /**
+     * @param revert undoes the optimistic change of a failed call, or null
+     */
+    private void completed(String playerId, Function<String, Boolean> revert) {
+        synchronized (this.lock) {
+            if (revert != null) {
+                revert.apply(playerId);
+            }
+
+            // the sidecar answer of the resync in flight may predate this call
+            if (this.resyncing) {
+                this.raced.add(playerId);
+            }
+
+            this.inFlight.computeIfPresent(playerId, (id, calls) -> calls == 1 ? null : calls - 1);
+        }
+    }
+
+    /**
+     * Must hold the lock
+     */
+    private void replacePlayers(List<String> connectedPlayers) {
+        Set<String> latest = new HashSet<>(connectedPlayers);
+
+        for (String playerId : latest) {
+            if (isSettled(playerId)) {
+                this.players.add(playerId);
+            }
+        }
+
+        this.players.removeIf(playerId -> !latest.contains(playerId) && isSettled(playerId));
+    }
+
+    /**
+     * Must hold the lock
+     *
+     * @return true if the sidecar knows the latest local change of the player
+     */
+    private boolean isSettled(String playerId) {
+        return !this.inFlight.containsKey(playerId) && !this.raced.contains(playerId);
+    }
+
+    /**
+     * Compares the settled players only, the watch update may not reflect the calls in flight yet
+     */
+    private boolean matches(List<String> ids) {
+        synchronized (this.lock) {
+            int settled = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                String playerId = ids.get(i);
+                if (!this.inFlight.containsKey(playerId)) {
+                    if (!this.players.contains(playerId)) {
+                        return false;
+                    }
+
+                    settled++;
+                }
+            }
+
+            int local = 0;
+            for (String playerId : this.players) {
+                if (!this.inFlight.containsKey(playerId)) {
+                    local++;
+                }
+            }
+
+            return settled == local;
+        }
+    }
+}
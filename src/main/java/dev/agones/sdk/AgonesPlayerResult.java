@@ -0,0 +1,56 @@
+package dev.agones.sdk;
+
+import java.util.Collection;
+
+/**
+ * Outcome of the call sent for one player by {@link AgonesAlphaSDK#playerConnectAll(Collection, int)}
+ * or {@link AgonesAlphaSDK#playerDisconnectAll(Collection, int)}
+ */
+public final class AgonesPlayerResult {
+
+    static final AgonesPlayerResult TRUE = new AgonesPlayerResult(true, null);
+    static final AgonesPlayerResult FALSE = new AgonesPlayerResult(false, null);
+
+    private final boolean value;
+    private final Throwable error;
+
+    private AgonesPlayerResult(boolean value, Throwable error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    static AgonesPlayerResult of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    static AgonesPlayerResult failed(Throwable error) {
+        return new AgonesPlayerResult(false, error);
+    }
+
+    /**
+     * @return true if the call completed successfully
+     */
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+    /**
+     * @return result of the call, as returned by {@link AgonesAlphaSDK#playerConnect(String)}
+     * or {@link AgonesAlphaSDK#playerDisconnect(String)}, false if it failed
+     */
+    public boolean getValue() {
+        return this.value;
+    }
+
+    /**
+     * @return error the call failed with, or null if it succeeded
+     */
+    public Throwable getError() {
+        return this.error;
+    }
+
+    @Override
+    public String toString() {
+        return this.error == null ? Boolean.toString(this.value) : "failed: " + this.error;
+    }
+}
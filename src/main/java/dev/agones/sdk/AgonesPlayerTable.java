@@ -0,0 +1,181 @@
+package dev.agones.sdk;
+
+import java.util.Arrays;
+
+/**
+ * Interns player ids into compact int handles, so player bookkeeping can use {@link AgonesIntSet}s
+ * instead of sets of strings.
+ * <p>
+ * Handles are small non-negative ints, a released handle is given to the next new player id.
+ * Interning a known id, looking up an id or a handle are constant time, and none of them allocate
+ * unless the table has to grow.
+ * <p>
+ * Not thread-safe.
+ */
+public class AgonesPlayerTable {
+
+    public static final int NO_HANDLE = -1;
+
+    /**
+     * Open addressing with linear probing, each slot holding a handle or {@link #NO_HANDLE}
+     */
+    private int[] slots;
+    private String[] ids;
+
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+    private int size;
+
+    /**
+     * @param expectedPlayers number of ids interned at once without growing the table
+     */
+    public AgonesPlayerTable(int expectedPlayers) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedPlayers * 2 - 1)) << 1;
+
+        this.slots = new int[capacity];
+        Arrays.fill(this.slots, NO_HANDLE);
+        this.ids = new String[Math.max(1, expectedPlayers)];
+        this.freeHandles = new int[Math.max(1, expectedPlayers)];
+    }
+
+    /**
+     * @param id player id
+     * @return handle of the id, assigned now if it was not interned yet
+     */
+    public int intern(String id) {
+        int slot = slot(id);
+        if (this.slots[slot] != NO_HANDLE) {
+            return this.slots[slot];
+        }
+
+        int handle = this.freeCount > 0 ? this.freeHandles[--this.freeCount] : this.nextHandle++;
+        if (handle >= this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.ids.length * 2);
+        }
+
+        this.ids[handle] = id;
+        this.slots[slot] = handle;
+        this.size++;
+
+        // keeps the load factor under one half
+        if (this.size * 2 > this.slots.length) {
+            rehash(this.slots.length * 2);
+        }
+
+        return handle;
+    }
+
+    /**
+     * @param id player id
+     * @return handle of the id, or {@link #NO_HANDLE} if it is not interned
+     */
+    public int find(String id) {
+        return this.slots[slot(id)];
+    }
+
+    /**
+     * @param handle player handle
+     * @return player id of the handle, or null if the handle is free
+     */
+    public String id(int handle) {
+        return handle >= 0 && handle < this.nextHandle ? this.ids[handle] : null;
+    }
+
+    /**
+     * Frees the handle of an id, so it can be given to another id.
+     * Every set still holding the handle must drop it first.
+     *
+     * @param id player id
+     * @return the released handle, or {@link #NO_HANDLE} if the id was not interned
+     */
+    public int release(String id) {
+        int slot = slot(id);
+        int handle = this.slots[slot];
+        if (handle == NO_HANDLE) {
+            return NO_HANDLE;
+        }
+
+        removeSlot(slot);
+
+        this.ids[handle] = null;
+        if (this.freeCount == this.freeHandles.length) {
+            this.freeHandles = Arrays.copyOf(this.freeHandles, this.freeHandles.length * 2);
+        }
+        this.freeHandles[this.freeCount++] = handle;
+        this.size--;
+
+        return handle;
+    }
+
+    /**
+     * @return number of interned ids
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return every handle in use is below this bound
+     */
+    public int getHandleBound() {
+        return this.nextHandle;
+    }
+
+    /**
+     * @return slot holding the id, or the empty slot where it would be inserted
+     */
+    private int slot(String id) {
+        int mask = this.slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+
+        while (true) {
+            int handle = this.slots[slot];
+            if (handle == NO_HANDLE || id.equals(this.ids[handle])) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Backward shift deletion, so lookups never need tombstones
+     */
+    private void removeSlot(int slot) {
+        int mask = this.slots.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+
+        while (this.slots[next] != NO_HANDLE) {
+            int home = mix(this.ids[this.slots[next]].hashCode()) & mask;
+
+            // moves the entry back if the hole lies between its home slot and its current slot
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.slots[hole] = this.slots[next];
+                hole = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        this.slots[hole] = NO_HANDLE;
+    }
+
+    private void rehash(int capacity) {
+        int[] previous = this.slots;
+
+        this.slots = new int[capacity];
+        Arrays.fill(this.slots, NO_HANDLE);
+
+        for (int handle : previous) {
+            if (handle != NO_HANDLE) {
+                this.slots[slot(this.ids[handle])] = handle;
+            }
+        }
+    }
+
+    static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
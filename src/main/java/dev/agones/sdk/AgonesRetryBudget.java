@@ -0,0 +1,73 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries and hedged attempts, so they cannot amplify an outage of the sidecar.
+ * <p>
+ * Works like the gRPC retry throttling: every attempt failing with a retryable status removes a token,
+ * every successful call gives back {@code tokenRatio} tokens, and retries are only allowed while more than half
+ * of the tokens are left.
+ */
+public class AgonesRetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long threshold;
+    private final long tokenRatio;
+
+    private final AtomicLong tokens;
+
+    /**
+     * @param maxTokens number of tokens
+     * @param tokenRatio tokens given back per successful call
+     */
+    public AgonesRetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = (long) (tokenRatio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * @return budget of 10 tokens with a 0.1 token ratio
+     */
+    public static AgonesRetryBudget defaults() {
+        return new AgonesRetryBudget(10, 0.1);
+    }
+
+    /**
+     * @return true if a retry can be sent now
+     */
+    public boolean allowRetry() {
+        return this.tokens.get() > this.threshold;
+    }
+
+    /**
+     * @return tokens currently left
+     */
+    public double getTokens() {
+        return (double) this.tokens.get() / SCALE;
+    }
+
+    void onSuccess() {
+        long current;
+        do {
+            current = this.tokens.get();
+            if (current >= this.maxTokens) {
+                return;
+            }
+        } while (!this.tokens.compareAndSet(current, Math.min(this.maxTokens, current + this.tokenRatio)));
+    }
+
+    void onFailure() {
+        long current;
+        do {
+            current = this.tokens.get();
+            if (current <= 0) {
+                return;
+            }
+        } while (!this.tokens.compareAndSet(current, Math.max(0, current - SCALE)));
+    }
+}
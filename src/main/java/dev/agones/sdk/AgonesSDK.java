@@ -1,32 +1,113 @@
 package dev.agones.sdk;
 
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import io.grpc.stub.StreamObserver;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.unix.DomainSocketAddress;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * An instance of the Agones SDK
  */
-public class AgonesSDK {
+public class AgonesSDK implements AutoCloseable {
+
+    static final int DEFAULT_PORT = 9357;
+    static final long DEFAULT_DRAIN_TIMEOUT_SECONDS = 10;
+
+    private final ManagedChannel channel;
+    private final boolean ownsChannel;
+    private final EventLoopGroup eventLoopGroup;
+
+    private final AgonesCompletionExecutor completionExecutor;
+    /**
+     * Executor the futures are completed on, null to complete them directly
+     */
+    private final AgonesCompletionExecutor completer;
+    private final AgonesMetrics metrics;
+    private final AgonesCallDispatcher dispatcher;
+    private final AgonesMessages messages = new AgonesMessages();
+    private final AgonesUntrackedSDK untracked = new AgonesUntrackedSDK(this);
 
     private final SDKGrpc.SDKStub client;
-    private StreamObserver<Sdk.Empty> healthStream;
+    private final AgonesHealthStream healthStream;
+    private final AgonesWatchHub watchHub;
+    private final AgonesGameServerPublisher gameServerPublisher;
 
     private final AgonesAlphaSDK alpha;
+    private final AgonesBetaSDK beta;
 
-    private AgonesSDK(int port) {
-        this(ManagedChannelBuilder.forAddress("localhost", port)
-                .usePlaintext()
-                .build());
-    }
+    private volatile ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private volatile AgonesMetadataBatcher metadataBatcher;
+    private volatile AgonesHealthPinger healthPinger;
+    private volatile AgonesGameServerWatch gameServerWatch;
+    private volatile AgonesGameServerCache gameServerCache;
+    private volatile AgonesMetadataStore metadataStore;
+    private volatile AgonesLifecycle lifecycle;
+    private volatile AgonesDispatchScheduler dispatchScheduler;
+    private volatile AgonesStartup startup;
+    private final Object drainLock = new Object();
+    private volatile AgonesDrainReport drainReport;
 
-    private AgonesSDK(ManagedChannel channel) {
-        this.client = SDKGrpc.newStub(channel);
+    private final Set<ScheduledTask> scheduledTasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
 
-        this.alpha = new AgonesAlphaSDK(channel);
+    private AgonesSDK(Builder builder, ManagedChannel channel, EventLoopGroup eventLoopGroup) {
+        this.channel = channel;
+        this.ownsChannel = builder.channel == null;
+        this.eventLoopGroup = eventLoopGroup;
+        this.scheduler = builder.transport == null ? null : builder.transport.scheduler();
+        this.ownsScheduler = builder.transport == null;
+        this.completionExecutor = new AgonesCompletionExecutor(
+                builder.completionExecutor == null ? AgonesExecutors.direct() : builder.completionExecutor);
+        this.completer = this.completionExecutor.isDirect() ? null : this.completionExecutor;
+
+        this.metrics = builder.metrics == null ? new AgonesMetricsRecorder() : builder.metrics;
+        this.dispatcher = new AgonesCallDispatcher(
+                this,
+                this.metrics,
+                builder.retryBudget == null ? AgonesRetryBudget.defaults() : builder.retryBudget,
+                builder.defaultCallPolicy,
+                builder.callPolicies);
+
+        Channel interceptedChannel = ClientInterceptors.intercept(channel, new AgonesMetricsInterceptor(this.metrics));
+
+        this.client = SDKGrpc.newStub(interceptedChannel);
+        this.healthStream = new AgonesHealthStream(this.client, this::schedule);
+        this.watchHub = new AgonesWatchHub(
+                this.client,
+                this.completer == null ? AgonesExecutors.direct() : this.completer,
+                this::schedule);
+        this.gameServerPublisher = new AgonesGameServerPublisher(this.client);
+
+        this.alpha = new AgonesAlphaSDK(interceptedChannel, this);
+        this.beta = new AgonesBetaSDK(interceptedChannel, this);
     }
 
     /**
@@ -38,10 +119,7 @@ public class AgonesSDK {
      * @return AgonesSDK instance
      */
     public static AgonesSDK create() {
-        int port = System.getenv("AGONES_SDK_GRPC_PORT") == null ?
-                9357 : Integer.parseInt(System.getenv("AGONES_SDK_GRPC_PORT"));
-
-        return new AgonesSDK(port);
+        return builder().build();
     }
 
     /**
@@ -51,7 +129,18 @@ public class AgonesSDK {
      * @return AgonesSDK instance
      */
     public static AgonesSDK create(int port) {
-        return new AgonesSDK(port);
+        return builder()
+                .port(port)
+                .build();
+    }
+
+    /**
+     * Creates a builder to configure the transport of a new AgonesSDK instance
+     *
+     * @return AgonesSDK builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -63,17 +152,309 @@ public class AgonesSDK {
         return this.alpha;
     }
 
+    /**
+     * Returns the Beta SDK
+     *
+     * @return Beta SDK
+     */
+    public AgonesBetaSDK beta() {
+        return this.beta;
+    }
+
+    /**
+     * Enables coalescing of {@link #setLabel(String, String)} and {@link #setAnnotation(String, String)} writes.
+     * Writes to the same key within {@code flushWindow} are merged (last write wins)
+     * and sent as a single call once the window elapses.
+     * <p>
+     * Calling this more than once returns the same batcher, ignoring the new settings.
+     *
+     * @param flushWindow time to wait for more writes before flushing
+     * @param unit {@code flushWindow} time unit
+     * @param maxInFlight maximum number of concurrent metadata calls
+     * @return the metadata batcher of this SDK instance
+     */
+    public synchronized AgonesMetadataBatcher enableMetadataBatching(long flushWindow, TimeUnit unit, int maxInFlight) {
+        if (this.metadataBatcher == null) {
+            this.metadataBatcher = new AgonesMetadataBatcher(this, unit.toNanos(flushWindow), maxInFlight);
+        }
+
+        return this.metadataBatcher;
+    }
+
+    /**
+     * Returns the metadata batcher
+     *
+     * @return the metadata batcher, or null if {@link #enableMetadataBatching(long, TimeUnit, int)} was not called
+     */
+    public AgonesMetadataBatcher getMetadataBatcher() {
+        return this.metadataBatcher;
+    }
+
+    /**
+     * Enables the {@link AgonesGameServerCache}, so {@link #getGameServer()} answers from the latest
+     * watch update instead of calling the sidecar every time.
+     * <p>
+     * Calling this more than once returns the same cache, ignoring the new settings.
+     *
+     * @param refreshAfter snapshot age after which a read triggers a background refresh
+     * @param expireAfter snapshot age after which a read waits for a refresh
+     * @param unit {@code refreshAfter} and {@code expireAfter} time unit
+     * @return the Game Server cache of this SDK instance
+     */
+    public synchronized AgonesGameServerCache enableGameServerCache(long refreshAfter, long expireAfter, TimeUnit unit) {
+        if (this.gameServerCache == null) {
+            AgonesGameServerCache cache = new AgonesGameServerCache(
+                    this, unit.toNanos(refreshAfter), unit.toNanos(expireAfter));
+
+            this.watchHub.subscribe(cache::onEvent);
+
+            this.gameServerCache = cache;
+        }
+
+        return this.gameServerCache;
+    }
+
+    /**
+     * Returns the Game Server cache
+     *
+     * @return the Game Server cache, or null if {@link #enableGameServerCache(long, long, TimeUnit)} was not called
+     */
+    public AgonesGameServerCache getGameServerCache() {
+        return this.gameServerCache;
+    }
+
+    /**
+     * Enables the typed {@link AgonesMetadataStore}, reading Labels and Annotations from the watch stream.
+     * <p>
+     * Calling this more than once returns the same store.
+     *
+     * @return the metadata store of this SDK instance
+     */
+    public synchronized AgonesMetadataStore enableMetadataStore() {
+        if (this.metadataStore == null) {
+            AgonesMetadataStore store = new AgonesMetadataStore(this);
+
+            this.watchHub.subscribe(store::onEvent);
+
+            this.metadataStore = store;
+        }
+
+        return this.metadataStore;
+    }
+
+    /**
+     * Returns the metadata store
+     *
+     * @return the metadata store, or null if {@link #enableMetadataStore()} was not called
+     */
+    public AgonesMetadataStore getMetadataStore() {
+        return this.metadataStore;
+    }
+
+    /**
+     * Enables the client-side {@link AgonesLifecycle}: {@link #ready()}, {@link #allocate()},
+     * {@link #reserve(int)} and {@link #shutdown()} are then sent one at a time in call order,
+     * repeated transitions are collapsed and invalid ones are rejected without calling the sidecar.
+     * <p>
+     * Calling this more than once returns the same lifecycle.
+     *
+     * @return the lifecycle of this SDK instance
+     */
+    public synchronized AgonesLifecycle enableLifecycle() {
+        if (this.lifecycle == null) {
+            AgonesLifecycle lifecycle = new AgonesLifecycle(this);
+
+            this.watchHub.subscribe(lifecycle::onEvent);
+
+            this.lifecycle = lifecycle;
+        }
+
+        return this.lifecycle;
+    }
+
+    /**
+     * Returns the lifecycle
+     *
+     * @return the lifecycle, or null if {@link #enableLifecycle()} was not called
+     */
+    public AgonesLifecycle getLifecycle() {
+        return this.lifecycle;
+    }
+
+    /**
+     * Enables the {@link AgonesDispatchScheduler}: unary calls are then queued by {@link AgonesCallPriority} class,
+     * lifecycle calls are sent ahead of player and metadata calls, and each class is held to the limits of
+     * {@code policy}. Calls already sent are not affected.
+     * <p>
+     * Calling this more than once returns the same scheduler, ignoring the new policy.
+     *
+     * @param policy concurrency and rate limits of each class
+     * @return the dispatch scheduler of this SDK instance
+     */
+    public synchronized AgonesDispatchScheduler enableDispatchScheduler(AgonesDispatchPolicy policy) {
+        if (this.dispatchScheduler == null) {
+            this.dispatchScheduler = new AgonesDispatchScheduler(policy, this.metrics, this::schedule);
+        }
+
+        return this.dispatchScheduler;
+    }
+
+    /**
+     * Returns the dispatch scheduler
+     *
+     * @return the dispatch scheduler, or null if {@link #enableDispatchScheduler(AgonesDispatchPolicy)} was not called
+     */
+    public AgonesDispatchScheduler getDispatchScheduler() {
+        return this.dispatchScheduler;
+    }
+
+    /**
+     * Starts the {@link AgonesStartup}: connects the channel now, probes the sidecar with backoff until it answers
+     * and prefetches the Game Server. Until then, unary calls wait for the sidecar to listen instead of failing.
+     * <p>
+     * Calling this more than once returns the same startup, ignoring the new timeout.
+     *
+     * @param timeout longest time to wait for the sidecar
+     * @param unit {@code timeout} time unit
+     * @return the startup of this SDK instance, see {@link AgonesStartup#whenStarted()}
+     */
+    public synchronized AgonesStartup startup(long timeout, TimeUnit unit) {
+        if (this.startup == null) {
+            AgonesStartup startup = new AgonesStartup(this, this.channel, this.metrics, unit.toNanos(timeout));
+            this.startup = startup;
+
+            startup.start();
+        }
+
+        return this.startup;
+    }
+
+    /**
+     * Returns the startup
+     *
+     * @return the startup, or null if {@link #startup(long, TimeUnit)} was not called
+     */
+    public AgonesStartup getStartup() {
+        return this.startup;
+    }
+
+    /**
+     * Returns the executor completing the futures returned by this SDK instance
+     *
+     * @return completion executor, with its queue depth and callback time statistics,
+     * which stay at zero with {@link AgonesExecutors#direct()}
+     */
+    public AgonesCompletionExecutor getCompletionExecutor() {
+        return this.completionExecutor;
+    }
+
+    /**
+     * Returns the metrics every call of this SDK instance is reported to
+     *
+     * @return metrics, an {@link AgonesMetricsRecorder} unless another implementation was configured
+     */
+    public AgonesMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the policy applied to the calls of a method
+     *
+     * @param method unary method
+     * @return deadline, retry and hedging policy of the method
+     */
+    public AgonesCallPolicy getCallPolicy(AgonesMethod method) {
+        return this.dispatcher.policy(method);
+    }
+
+    /**
+     * Returns the budget shared by the retries and hedged attempts of every call of this SDK instance
+     *
+     * @return retry budget
+     */
+    public AgonesRetryBudget getRetryBudget() {
+        return this.dispatcher.retryBudget();
+    }
+
+    /**
+     * Returns the calls that do not report their result, for the highest-frequency paths
+     *
+     * @return untracked calls of this SDK instance
+     */
+    public AgonesUntrackedSDK untracked() {
+        return this.untracked;
+    }
+
+    /**
+     * @return true while the {@link AgonesStartup} waits for the sidecar
+     */
+    boolean isStarting() {
+        AgonesStartup startup = this.startup;
+
+        return startup != null && !startup.isDone();
+    }
+
+    AgonesCallDispatcher dispatcher() {
+        return this.dispatcher;
+    }
+
+    AgonesMessages messages() {
+        return this.messages;
+    }
+
+    SDKGrpc.SDKStub client() {
+        return this.client;
+    }
+
+    /**
+     * Creates a future completed through the completion executor
+     */
+    <T, R> AgonesFuture<T, R> newFuture(Function<R, T> valueMapper) {
+        return new AgonesFuture<>(valueMapper, this.completer);
+    }
+
+    /**
+     * Returns the single daemon scheduler used for this SDK instance background work
+     *
+     * @return scheduler, created on first use
+     */
+    ScheduledExecutorService scheduler() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = this.scheduler;
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(
+                            AgonesThreads.daemonFactory("agones-sdk-scheduler"));
+                    this.scheduler = scheduler;
+                }
+            }
+        }
+
+        return scheduler;
+    }
+
     /**
      * Marks the Game Server as ready to receive connections
      *
      * @return void
      */
     public CompletableFuture<Void> ready() {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesLifecycle lifecycle = this.lifecycle;
+        if (lifecycle != null) {
+            return lifecycle.ready();
+        }
 
-        this.client.ready(Sdk.Empty.getDefaultInstance(), future);
+        return sendReady();
+    }
 
-        return future;
+    CompletableFuture<Void> sendReady() {
+        return this.dispatcher.unary(
+                AgonesMethod.READY,
+                this.client,
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::ready,
+                AgonesMappers.voidMapper());
     }
 
     /**
@@ -82,11 +463,21 @@ public class AgonesSDK {
      * @return void
      */
     public CompletableFuture<Void> allocate() {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesLifecycle lifecycle = this.lifecycle;
+        if (lifecycle != null) {
+            return lifecycle.allocate();
+        }
 
-        this.client.allocate(Sdk.Empty.getDefaultInstance(), future);
+        return sendAllocate();
+    }
 
-        return future;
+    CompletableFuture<Void> sendAllocate() {
+        return this.dispatcher.unary(
+                AgonesMethod.ALLOCATE,
+                this.client,
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::allocate,
+                AgonesMappers.voidMapper());
     }
 
     /**
@@ -95,77 +486,180 @@ public class AgonesSDK {
      * @return void
      */
     public CompletableFuture<Void> shutdown() {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesLifecycle lifecycle = this.lifecycle;
+        if (lifecycle != null) {
+            return lifecycle.shutdown();
+        }
 
-        this.client.shutdown(Sdk.Empty.getDefaultInstance(), future);
+        return sendShutdown();
+    }
 
-        return future;
+    CompletableFuture<Void> sendShutdown() {
+        return this.dispatcher.unary(
+                AgonesMethod.SHUTDOWN,
+                this.client,
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::shutdown,
+                AgonesMappers.voidMapper());
     }
 
     /**
-     * Sends a ping to the health check to indicate that this Game Server is healthy
+     * Sends a ping to the health check to indicate that this Game Server is healthy.
+     * <p>
+     * Never blocks: the health stream is opened, and reopened with backoff after a failure, on the SDK scheduler.
      */
     public void health() {
-        if (this.healthStream == null) {
-            this.healthStream = this.client.health(new StreamObserver<Sdk.Empty>() {
-                @Override
-                public void onNext(Sdk.Empty value) {
+        this.healthStream.ping();
+    }
 
-                }
+    /**
+     * Starts sending health pings from the SDK scheduler, at an interval derived from
+     * {@link AgonesGameServer.Spec.Health}, so {@link #health()} no longer needs to be called.
+     * <p>
+     * Calling this more than once returns the same pinger.
+     *
+     * @return the health pinger of this SDK instance
+     */
+    public synchronized AgonesHealthPinger startHealthChecking() {
+        if (this.healthPinger == null) {
+            AgonesHealthPinger pinger = new AgonesHealthPinger(this.healthStream, scheduler());
+            pinger.start();
 
-                @Override
-                public void onError(Throwable t) {
+            getGameServer().thenAccept(gameServer -> pinger.configure(gameServer.getSpec().getHealth()));
 
-                }
+            this.healthPinger = pinger;
+        }
 
-                @Override
-                public void onCompleted() {
+        return this.healthPinger;
+    }
 
-                }
-            });
+    /**
+     * Schedules background work on the SDK scheduler. Once the SDK is closed, {@code onClosed} is called instead,
+     * right away or by the drain for the work still pending, so nothing waits on a task that will never run.
+     *
+     * @param task background work
+     * @param onClosed fails whatever waits on {@code task}
+     * @param delayNanos delay before running the task, in nanoseconds
+     * @return the scheduled task
+     */
+    AgonesTaskScheduler.Task schedule(Runnable task, Consumer<Throwable> onClosed, long delayNanos) {
+        ScheduledTask scheduled = new ScheduledTask(task, onClosed);
+        this.scheduledTasks.add(scheduled);
+
+        // Checked after registering the task, so either the drain fails it or it sees the SDK closed
+        if (this.closed) {
+            scheduled.fail(closedError());
+            return scheduled;
         }
 
-        this.healthStream.onNext(Sdk.Empty.getDefaultInstance());
+        try {
+            scheduled.future = scheduler().schedule(scheduled, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            scheduled.fail(closedError());
+        }
+
+        return scheduled;
+    }
+
+    /**
+     * @return true once the SDK is closed, new calls and background work then fail right away
+     */
+    boolean isClosed() {
+        return this.closed;
+    }
+
+    static IllegalStateException closedError() {
+        return new IllegalStateException("The SDK is closed");
+    }
+
+    /**
+     * Returns the health pinger
+     *
+     * @return the health pinger, or null if {@link #startHealthChecking()} was not called
+     */
+    public AgonesHealthPinger getHealthPinger() {
+        return this.healthPinger;
     }
 
     /**
-     * Returns most of the backing {@link AgonesGameServer} configuration and status
+     * Returns most of the backing {@link AgonesGameServer} configuration and status.
+     * Answered from the {@link AgonesGameServerCache} when it is enabled.
      *
      * @return a {@link AgonesGameServer} with this Game Server's configuration data
      */
     public CompletableFuture<AgonesGameServer> getGameServer() {
-        AgonesFuture<AgonesGameServer, Sdk.GameServer> future =
-                new AgonesFuture<>(AgonesMappers.GAME_SERVER_MAPPER);
+        AgonesGameServerCache cache = this.gameServerCache;
+        if (cache != null) {
+            return cache.get();
+        }
 
-        this.client.getGameServer(Sdk.Empty.getDefaultInstance(), future);
+        return fetchGameServer();
+    }
 
-        return future;
+    CompletableFuture<AgonesGameServer> fetchGameServer() {
+        return this.dispatcher.unary(
+                AgonesMethod.GET_GAME_SERVER,
+                this.client,
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::getGameServer,
+                AgonesMappers.GAME_SERVER_MAPPER);
     }
 
     /**
      * Executes the {@code callback} with the current {@link AgonesGameServer} details
      * whenever the underlying {@link AgonesGameServer} configuration is updated, or an
-     * exception if an error occurred
+     * exception if an error occurred.
+     * <p>
+     * Every watcher shares a single stream, reopened with backoff after an error.
+     * The callback first receives the latest known Game Server, if any,
+     * and only the latest update is kept while it is busy.
      *
      * @param callback {@link AgonesGameServer} and {@link Throwable} consumer
+     * @return subscription, to stop the callback
      */
-    public void watchGameServer(BiConsumer<AgonesGameServer, Throwable> callback) {
-        this.client.watchGameServer(Sdk.Empty.getDefaultInstance(), new StreamObserver<Sdk.GameServer>() {
-            @Override
-            public void onNext(Sdk.GameServer value) {
-                callback.accept(AgonesGameServer.fromProto(value), null);
-            }
+    public AgonesWatchSubscription watchGameServer(BiConsumer<AgonesGameServer, Throwable> callback) {
+        return this.watchHub.subscribe(event -> callback.accept(event.gameServer, event.error));
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                callback.accept(null, t);
-            }
+    /**
+     * Returns a Reactive Streams publisher of the {@link AgonesGameServer} updates.
+     * Unlike {@link #watchGameServer(BiConsumer)}, each subscriber gets its own stream,
+     * and updates are only pulled from the sidecar as fast as the subscriber requests them.
+     *
+     * @return Game Server update publisher
+     */
+    public AgonesGameServerPublisher gameServerPublisher() {
+        return this.gameServerPublisher;
+    }
+
+    /**
+     * Returns the Game Server watch stream shared by {@link #watchGameServer(BiConsumer)},
+     * {@link #watchGameServerChanges()} and the {@link AgonesPlayerRegistry}
+     *
+     * @return watch hub, with its subscriber, update and restart counts
+     */
+    public AgonesWatchHub getWatchHub() {
+        return this.watchHub;
+    }
 
-            @Override
-            public void onCompleted() {
+    /**
+     * Returns a watch reporting field level changes of the {@link AgonesGameServer} to its listeners.
+     * Unlike {@link #watchGameServer(BiConsumer)}, updates that did not change anything are skipped.
+     * <p>
+     * Calling this more than once returns the same watch.
+     *
+     * @return the Game Server change watch of this SDK instance
+     */
+    public synchronized AgonesGameServerWatch watchGameServerChanges() {
+        if (this.gameServerWatch == null) {
+            AgonesGameServerWatch watch = new AgonesGameServerWatch();
 
-            }
-        });
+            this.watchHub.subscribe(watch::onEvent);
+
+            this.gameServerWatch = watch;
+        }
+
+        return this.gameServerWatch;
     }
 
     /**
@@ -178,16 +672,23 @@ public class AgonesSDK {
      * @see <a href="https://kubernetes.io/docs/concepts/overview/working-with-objects/labels/">Kubernetes Labels</a>
      */
     public CompletableFuture<Void> setLabel(String key, String value) {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesMetadataBatcher batcher = this.metadataBatcher;
+        if (batcher != null) {
+            return batcher.setLabel(key, value);
+        }
 
-        Sdk.KeyValue keyValue = Sdk.KeyValue.newBuilder()
-                .setKey(key)
-                .setValue(value)
-                .build();
+        return sendLabel(key, value);
+    }
 
-        this.client.setLabel(keyValue, future);
+    CompletableFuture<Void> sendLabel(String key, String value) {
+        Sdk.KeyValue keyValue = this.messages.keyValue(key, value);
 
-        return future;
+        return this.dispatcher.unary(
+                AgonesMethod.SET_LABEL,
+                this.client,
+                keyValue,
+                SDKGrpc.SDKStub::setLabel,
+                AgonesMappers.voidMapper());
     }
 
     /**
@@ -200,16 +701,23 @@ public class AgonesSDK {
      * @see <a href="https://kubernetes.io/docs/concepts/overview/working-with-objects/annotations/">Kubernetes Annotations</a>
      */
     public CompletableFuture<Void> setAnnotation(String key, String value) {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesMetadataBatcher batcher = this.metadataBatcher;
+        if (batcher != null) {
+            return batcher.setAnnotation(key, value);
+        }
 
-        Sdk.KeyValue keyValue = Sdk.KeyValue.newBuilder()
-                .setKey(key)
-                .setValue(value)
-                .build();
+        return sendAnnotation(key, value);
+    }
 
-        this.client.setAnnotation(keyValue, future);
+    CompletableFuture<Void> sendAnnotation(String key, String value) {
+        Sdk.KeyValue keyValue = this.messages.keyValue(key, value);
 
-        return future;
+        return this.dispatcher.unary(
+                AgonesMethod.SET_ANNOTATION,
+                this.client,
+                keyValue,
+                SDKGrpc.SDKStub::setAnnotation,
+                AgonesMappers.voidMapper());
     }
 
     /**
@@ -220,14 +728,566 @@ public class AgonesSDK {
      * @return void
      */
     public CompletableFuture<Void> reserve(int seconds) {
-        AgonesFuture<Void, Sdk.Empty> future = new AgonesFuture<>();
+        AgonesLifecycle lifecycle = this.lifecycle;
+        if (lifecycle != null) {
+            return lifecycle.reserve(seconds);
+        }
 
-        Sdk.Duration duration = Sdk.Duration.newBuilder()
-                .setSeconds(seconds)
-                .build();
+        return sendReserve(seconds);
+    }
+
+    CompletableFuture<Void> sendReserve(int seconds) {
+        Sdk.Duration duration = this.messages.duration(seconds);
+
+        return this.dispatcher.unary(
+                AgonesMethod.RESERVE,
+                this.client,
+                duration,
+                SDKGrpc.SDKStub::reserve,
+                AgonesMappers.voidMapper());
+    }
+
+    /**
+     * Drains this SDK instance without calling the Agones {@literal Shutdown}, waiting up to 10 seconds.
+     *
+     * @see #drain(long, TimeUnit, boolean)
+     */
+    @Override
+    public void close() {
+        drain(DEFAULT_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS, false);
+    }
+
+    /**
+     * Stops this SDK instance, in order:
+     * <ol>
+     *     <li>stops the health pinger and the capacity controller, so nothing new is queued</li>
+     *     <li>flushes the pending Label and Annotation writes and lifecycle transitions, and waits for them</li>
+     *     <li>calls the Agones {@literal Shutdown} if {@code shutdownGameServer} is true</li>
+     *     <li>half-closes the health stream and waits for the sidecar to close it</li>
+     *     <li>cancels the watch streams</li>
+     *     <li>shuts the channel and event loop down, if they are not caller-supplied, and waits for them</li>
+     *     <li>stops the SDK scheduler</li>
+     * </ol>
+     * Every phase shares the same {@code timeout}. Once it elapsed, the remaining phases still run without waiting,
+     * and the channel is shut down forcefully.
+     * <p>
+     * Calling this more than once returns the report of the first drain.
+     *
+     * @param timeout longest time to wait for the whole drain
+     * @param unit {@code timeout} time unit
+     * @param shutdownGameServer whether to mark the Game Server as ready to shutdown
+     * @return duration of each phase
+     */
+    public AgonesDrainReport drain(long timeout, TimeUnit unit, boolean shutdownGameServer) {
+        // Not the instance lock, which callbacks running during the drain may need
+        synchronized (this.drainLock) {
+            if (this.drainReport == null) {
+                this.drainReport = doDrain(unit.toNanos(timeout), shutdownGameServer);
+            }
+
+            return this.drainReport;
+        }
+    }
+
+    private AgonesDrainReport doDrain(long timeoutNanos, boolean shutdownGameServer) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        AgonesDrainReport report = new AgonesDrainReport();
+
+        AgonesHealthPinger pinger = this.healthPinger;
+        if (pinger != null) {
+            pinger.stop();
+        }
+
+        AgonesStartup startup = this.startup;
+        if (startup != null) {
+            startup.stop();
+        }
+
+        AgonesCapacityController capacityController = this.alpha.getCapacityController();
+        if (capacityController != null) {
+            capacityController.stop();
+        }
+
+        long start = System.nanoTime();
+        boolean flushed = true;
+
+        AgonesMetadataBatcher batcher = this.metadataBatcher;
+        if (batcher != null) {
+            batcher.flush();
+            flushed = awaitIdle(batcher::isIdle, deadline);
+        }
+
+        AgonesDeltaAggregator deltaAggregator = this.beta.getDeltaAggregator();
+        if (deltaAggregator != null) {
+            deltaAggregator.flush();
+            flushed &= awaitIdle(deltaAggregator::isIdle, deadline);
+        }
+
+        AgonesLifecycle lifecycle = this.lifecycle;
+        if (lifecycle != null) {
+            flushed &= await(lifecycle.idle(), deadline);
+        }
+
+        start = record(report, AgonesDrainReport.Phase.FLUSH, start, flushed);
+
+        if (shutdownGameServer) {
+            start = record(report, AgonesDrainReport.Phase.SHUTDOWN, start, await(shutdown(), deadline));
+        }
+
+        start = record(report, AgonesDrainReport.Phase.HEALTH, start, await(this.healthStream.close(), deadline));
+
+        this.watchHub.close();
+        this.gameServerPublisher.close();
+        start = record(report, AgonesDrainReport.Phase.WATCH, start, true);
+
+        // Fails the work still pending before its scheduler goes away, so no future is left waiting for it
+        this.closed = true;
+        for (ScheduledTask task : this.scheduledTasks) {
+            task.fail(closedError());
+        }
+
+        AgonesDispatchScheduler dispatchScheduler = this.dispatchScheduler;
+        if (dispatchScheduler != null) {
+            dispatchScheduler.close(closedError());
+        }
+
+        if (this.ownsChannel) {
+            start = record(report, AgonesDrainReport.Phase.CHANNEL, start, shutdownChannel(deadline));
+        }
+
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler != null && this.ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+        record(report, AgonesDrainReport.Phase.EXECUTORS, start, true);
+
+        return report;
+    }
+
+    private boolean shutdownChannel(long deadline) {
+        boolean terminated = false;
+
+        this.channel.shutdown();
+        try {
+            terminated = this.channel.awaitTermination(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!terminated) {
+            this.channel.shutdownNow();
+        }
+
+        if (this.eventLoopGroup != null) {
+            try {
+                terminated &= this.eventLoopGroup
+                        .shutdownGracefully(0, remaining(deadline), TimeUnit.NANOSECONDS)
+                        .await(remaining(deadline), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                terminated = false;
+            }
+        }
+
+        return terminated;
+    }
+
+    private static long record(AgonesDrainReport report, AgonesDrainReport.Phase phase, long start, boolean completed) {
+        long end = System.nanoTime();
+        report.record(phase, end - start, completed);
+
+        return end;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * @return true if the future completed, successfully or not, before the deadline
+     */
+    private static boolean await(CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-        this.client.reserve(duration, future);
+    private static boolean awaitIdle(BooleanSupplier idle, long deadline) {
+        while (!idle.getAsBoolean()) {
+            if (remaining(deadline) == 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Background task, failed instead of dropped when the SDK is closed before it runs
+     */
+    private class ScheduledTask implements Runnable, AgonesTaskScheduler.Task {
+        private final Runnable task;
+        private final Consumer<Throwable> onClosed;
+        private volatile ScheduledFuture<?> future;
+
+        private ScheduledTask(Runnable task, Consumer<Throwable> onClosed) {
+            this.task = task;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public void run() {
+            if (AgonesSDK.this.scheduledTasks.remove(this)) {
+                this.task.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (AgonesSDK.this.scheduledTasks.remove(this)) {
+                cancelFuture();
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (AgonesSDK.this.scheduledTasks.remove(this)) {
+                cancelFuture();
+                this.onClosed.accept(error);
+            }
+        }
+
+        private void cancelFuture() {
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link AgonesSDK} instances.
+     * <p>
+     * By default, connects to {@literal localhost} on the {@literal AGONES_SDK_GRPC_PORT} environment variable port,
+     * or default (9357) if not present, with the gRPC default channel settings.
+     */
+    public static class Builder {
+
+        private ManagedChannel channel;
+        private String inProcessName;
+        private String unixDomainSocket;
+
+        private String host = "localhost";
+        private int port = -1;
+
+        private Executor executor;
+        private boolean directExecutor;
+        private Executor completionExecutor;
+        private AgonesMetrics metrics;
+        private int eventLoopThreads;
+        private AgonesTransport transport;
+
+        private AgonesCallPolicy defaultCallPolicy = AgonesCallPolicy.defaults();
+        private final Map<AgonesMethod, AgonesCallPolicy> callPolicies = new EnumMap<>(AgonesMethod.class);
+        private AgonesRetryBudget retryBudget;
+
+        private long keepAliveTimeNanos;
+        private long keepAliveTimeoutNanos;
+        private boolean keepAliveWithoutCalls;
+        private int flowControlWindow;
+
+        private Builder() {
+        }
+
+        /**
+         * Uses a caller-supplied channel, every other transport setting is ignored.
+         * The channel is owned by the caller, the SDK never shuts it down.
+         *
+         * @param channel channel to the sidecar
+         * @return this builder
+         */
+        public Builder channel(ManagedChannel channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        /**
+         * Connects to an in-process server, mostly useful for tests and benchmarks
+         *
+         * @param name in-process server name
+         * @return this builder
+         */
+        public Builder inProcess(String name) {
+            this.inProcessName = name;
+            return this;
+        }
+
+        /**
+         * Connects to the sidecar through a Unix domain socket instead of loopback TCP.
+         * Requires the Netty epoll transport, only available on Linux.
+         *
+         * @param path socket path
+         * @return this builder
+         */
+        public Builder unixDomainSocket(String path) {
+            this.unixDomainSocket = path;
+            return this;
+        }
+
+        /**
+         * @param host sidecar host, {@literal localhost} by default
+         * @return this builder
+         */
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * @param port gRPC service port
+         * @return this builder
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Executor running the gRPC callbacks, the gRPC default cached thread pool is used if not set
+         *
+         * @param executor callback executor
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Executor completing every future returned by the SDK and running the watch callbacks.
+         * Defaults to {@link AgonesExecutors#direct()}, running them on the gRPC callback threads.
+         * <p>
+         * Watch callbacks keep their order whatever the executor.
+         *
+         * @param executor completion executor, see {@link AgonesExecutors}
+         * @return this builder
+         */
+        public Builder completionExecutor(Executor executor) {
+            this.completionExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Metrics every call is reported to, an {@link AgonesMetricsRecorder} by default.
+         * Use {@link AgonesMetrics#noop()} to disable them.
+         *
+         * @param metrics metrics implementation
+         * @return this builder
+         */
+        public Builder metrics(AgonesMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Policy of the methods without a policy of their own, {@link AgonesCallPolicy#defaults()} if not set
+         *
+         * @param policy deadline, retry and hedging policy
+         * @return this builder
+         */
+        public Builder defaultCallPolicy(AgonesCallPolicy policy) {
+            this.defaultCallPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Policy of the calls of one method.
+         * Methods that are not {@link AgonesMethod#isIdempotent()} only use its deadline.
+         *
+         * @param method unary method
+         * @param policy deadline, retry and hedging policy
+         * @return this builder
+         */
+        public Builder callPolicy(AgonesMethod method, AgonesCallPolicy policy) {
+            this.callPolicies.put(method, policy);
+            return this;
+        }
+
+        /**
+         * Budget shared by the retries and hedged attempts of every call, {@link AgonesRetryBudget#defaults()} if not set
+         *
+         * @param budget retry budget
+         * @return this builder
+         */
+        public Builder retryBudget(AgonesRetryBudget budget) {
+            this.retryBudget = budget;
+            return this;
+        }
+
+        /**
+         * Runs the gRPC callbacks directly on the transport threads, saving a thread hop per call.
+         * Callbacks must then never block.
+         *
+         * @return this builder
+         */
+        public Builder directExecutor() {
+            this.directExecutor = true;
+            return this;
+        }
+
+        /**
+         * Number of Netty event loop threads dedicated to this SDK instance.
+         * By default, the event loop shared by every gRPC channel of the JVM is used.
+         *
+         * @param threads event loop thread count
+         * @return this builder
+         */
+        public Builder eventLoopThreads(int threads) {
+            this.eventLoopThreads = threads;
+            return this;
+        }
+
+        /**
+         * Shares the event loop and the scheduler of {@code transport} instead of creating them for this instance,
+         * {@link #eventLoopThreads(int)} is then ignored.
+         * The transport is not shut down when this instance is closed.
+         *
+         * @param transport transport shared with other instances
+         * @return this builder
+         */
+        public Builder transport(AgonesTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sends HTTP/2 keepalive pings to detect a dead sidecar connection
+         *
+         * @param time time between pings without read activity
+         * @param timeout time to wait for a ping acknowledgement before closing the connection
+         * @param unit {@code time} and {@code timeout} time unit
+         * @return this builder
+         */
+        public Builder keepAlive(long time, long timeout, TimeUnit unit) {
+            this.keepAliveTimeNanos = unit.toNanos(time);
+            this.keepAliveTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * @param enable whether keepalive pings are also sent when no call is active
+         * @return this builder
+         */
+        public Builder keepAliveWithoutCalls(boolean enable) {
+            this.keepAliveWithoutCalls = enable;
+            return this;
+        }
+
+        /**
+         * @param bytes HTTP/2 flow control window
+         * @return this builder
+         */
+        public Builder flowControlWindow(int bytes) {
+            this.flowControlWindow = bytes;
+            return this;
+        }
+
+        /**
+         * @return new AgonesSDK instance
+         */
+        public AgonesSDK build() {
+            if (this.channel != null) {
+                return new AgonesSDK(this, this.channel, null);
+            }
+
+            if (this.inProcessName != null) {
+                InProcessChannelBuilder builder = InProcessChannelBuilder.forName(this.inProcessName);
+                if (this.directExecutor) {
+                    builder.directExecutor();
+                } else if (this.executor != null) {
+                    builder.executor(this.executor);
+                }
+
+                return new AgonesSDK(this, builder.build(), null);
+            }
+
+            NettyChannelBuilder builder;
+            EventLoopGroup eventLoopGroup = null;
+
+            if (this.unixDomainSocket != null) {
+                if (!Epoll.isAvailable()) {
+                    throw new IllegalStateException("Unix domain sockets require the Netty epoll transport",
+                            Epoll.unavailabilityCause());
+                }
+
+                EventLoopGroup group;
+                if (this.transport != null) {
+                    group = this.transport.eventLoopGroup();
+                } else {
+                    eventLoopGroup = new EpollEventLoopGroup(
+                            Math.max(1, this.eventLoopThreads),
+                            new DefaultThreadFactory("agones-sdk-epoll", true));
+                    group = eventLoopGroup;
+                }
+
+                builder = NettyChannelBuilder.forAddress(new DomainSocketAddress(this.unixDomainSocket))
+                        .channelType(EpollDomainSocketChannel.class)
+                        .eventLoopGroup(group);
+            } else {
+                builder = NettyChannelBuilder.forAddress(this.host, this.port < 0 ? defaultPort() : this.port);
+
+                if (this.transport != null) {
+                    builder.channelType(this.transport.socketChannelType())
+                            .eventLoopGroup(this.transport.eventLoopGroup());
+                } else if (this.eventLoopThreads > 0) {
+                    eventLoopGroup = new NioEventLoopGroup(
+                            this.eventLoopThreads,
+                            new DefaultThreadFactory("agones-sdk-nio", true));
+
+                    builder.channelType(NioSocketChannel.class)
+                            .eventLoopGroup(eventLoopGroup);
+                }
+            }
+
+            builder.usePlaintext();
+
+            if (this.directExecutor) {
+                builder.directExecutor();
+            } else if (this.executor != null) {
+                builder.executor(this.executor);
+            }
+
+            if (this.keepAliveTimeNanos > 0) {
+                builder.keepAliveTime(this.keepAliveTimeNanos, TimeUnit.NANOSECONDS)
+                        .keepAliveTimeout(this.keepAliveTimeoutNanos, TimeUnit.NANOSECONDS)
+                        .keepAliveWithoutCalls(this.keepAliveWithoutCalls);
+            }
 
-        return future;
+            if (this.flowControlWindow > 0) {
+                builder.flowControlWindow(this.flowControlWindow);
+            }
+
+            return new AgonesSDK(this, builder.build(), eventLoopGroup);
+        }
+
+        private static int defaultPort() {
+            String port = System.getenv("AGONES_SDK_GRPC_PORT");
+
+            return port == null ? DEFAULT_PORT : Integer.parseInt(port);
+        }
     }
 }
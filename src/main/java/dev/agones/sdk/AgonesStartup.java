@@ -0,0 +1,207 @@
+package dev.agones.sdk;
+
+import io.grpc.ManagedChannel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Brings the SDK up while the sidecar may not be listening yet.
+ * <p>
+ * The channel connects eagerly, then {@literal GetGameServer} probes are sent with wait-for-ready and a short
+ * deadline, with a jittered exponential backoff between failures, until the sidecar answers.
+ * The first Game Server received completes {@link #whenStarted()} and primes the {@link AgonesGameServerCache}.
+ * <p>
+ * Until then, unary calls of the SDK wait for the channel to be ready instead of failing fast,
+ * so an early {@link AgonesSDK#ready()} is delivered as soon as the sidecar listens.
+ *
+ * @see AgonesSDK#startup(long, TimeUnit)
+ */
+public class AgonesStartup {
+
+    static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(2);
+    static final long PROBE_DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AgonesSDK sdk;
+    private final ManagedChannel channel;
+    private final AgonesMetrics metrics;
+    private final long timeoutNanos;
+
+    private final AgonesFuture<AgonesGameServer, AgonesGameServer> started;
+    private final AtomicInteger probes = new AtomicInteger();
+
+    private volatile long startedAtNanos;
+    private volatile long timeToReadyNanos = -1;
+
+    // Guarded by this
+    private AgonesTaskScheduler.Task timeout;
+    private AgonesTaskScheduler.Task retry;
+    private Throwable lastError;
+    private long backoffNanos = INITIAL_BACKOFF_NANOS;
+    /**
+     * Written under the lock, read without it by every unary call
+     */
+    private volatile boolean done;
+
+    AgonesStartup(AgonesSDK sdk, ManagedChannel channel, AgonesMetrics metrics, long timeoutNanos) {
+        this.sdk = sdk;
+        this.channel = channel;
+        this.metrics = metrics;
+        this.timeoutNanos = timeoutNanos;
+        this.started = sdk.newFuture(Function.identity());
+    }
+
+    /**
+     * @return completes with the first Game Server received from the sidecar,
+     * or fails with a {@link TimeoutException} caused by the last probe error if it did not answer in time
+     */
+    public CompletableFuture<AgonesGameServer> whenStarted() {
+        return this.started;
+    }
+
+    /**
+     * @return time from {@link AgonesSDK#startup(long, TimeUnit)} to the first answer of the sidecar
+     * in nanoseconds, or -1 if it did not answer yet
+     */
+    public long getTimeToReadyNanos() {
+        return this.timeToReadyNanos;
+    }
+
+    /**
+     * @return number of probes sent
+     */
+    public int getProbeCount() {
+        return this.probes.get();
+    }
+
+    /**
+     * @return true if the startup completed, successfully or not
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    synchronized void start() {
+        this.startedAtNanos = System.nanoTime();
+
+        // Starts connecting now instead of on the first call
+        this.channel.getState(true);
+
+        this.timeout = this.sdk.schedule(this::onTimeout, this::fail, this.timeoutNanos);
+        this.sdk.schedule(this::probe, this::fail, 0);
+    }
+
+    /**
+     * Fails a startup still in progress, called when the SDK is drained
+     */
+    void stop() {
+        fail(new IllegalStateException("The SDK was closed before the sidecar answered"));
+    }
+
+    private void probe() {
+        long deadlineNanos;
+        synchronized (this) {
+            if (this.done) {
+                return;
+            }
+
+            long remaining = this.startedAtNanos + this.timeoutNanos - System.nanoTime();
+            deadlineNanos = Math.max(1, Math.min(PROBE_DEADLINE_NANOS, remaining));
+        }
+
+        this.probes.incrementAndGet();
+
+        // The channel reconnect backoff grows up to minutes, probes are paced by this backoff instead
+        this.channel.resetConnectBackoff();
+
+        AgonesFuture<AgonesGameServer, Sdk.GameServer> probe = new AgonesFuture<>(AgonesMappers.GAME_SERVER_MAPPER);
+        probe.whenComplete(this::onProbeCompleted);
+
+        this.sdk.client()
+                .withWaitForReady()
+                .withDeadlineAfter(deadlineNanos, TimeUnit.NANOSECONDS)
+                .getGameServer(Sdk.Empty.getDefaultInstance(), probe);
+    }
+
+    private void onProbeCompleted(AgonesGameServer gameServer, Throwable error) {
+        if (error == null) {
+            succeed(gameServer);
+            return;
+        }
+
+        synchronized (this) {
+            if (this.done) {
+                return;
+            }
+
+            this.lastError = error;
+
+            long jitter = ThreadLocalRandom.current().nextLong(this.backoffNanos / 5 + 1);
+            this.retry = this.sdk.schedule(this::probe, this::fail, this.backoffNanos + jitter);
+            this.backoffNanos = Math.min(this.backoffNanos * 2, MAX_BACKOFF_NANOS);
+        }
+    }
+
+    private void succeed(AgonesGameServer gameServer) {
+        long timeToReadyNanos;
+        synchronized (this) {
+            if (this.done) {
+                return;
+            }
+
+            this.done = true;
+            this.timeout.cancel();
+
+            timeToReadyNanos = System.nanoTime() - this.startedAtNanos;
+            this.timeToReadyNanos = timeToReadyNanos;
+        }
+
+        AgonesGameServerCache cache = this.sdk.getGameServerCache();
+        if (cache != null) {
+            cache.prime(gameServer);
+        }
+
+        this.metrics.startupCompleted(timeToReadyNanos, this.probes.get());
+        this.started.onNext(gameServer);
+    }
+
+    private void onTimeout() {
+        Throwable lastError;
+        synchronized (this) {
+            lastError = this.lastError;
+        }
+
+        TimeoutException timeout = new TimeoutException(
+                "The sidecar did not answer within " + TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + " ms");
+        if (lastError != null) {
+            timeout.initCause(lastError);
+        }
+
+        fail(timeout);
+    }
+
+    private void fail(Throwable error) {
+        synchronized (this) {
+            if (this.done) {
+                return;
+            }
+
+            this.done = true;
+
+            if (this.timeout != null) {
+                this.timeout.cancel();
+            }
+
+            if (this.retry != null) {
+                this.retry.cancel();
+            }
+        }
+
+        this.started.onError(error);
+    }
+}
@@ -0,0 +1,32 @@
+package dev.agones.sdk;
+
+import java.util.function.Consumer;
+
+/**
+ * Schedules the background work of an SDK instance, see {@link AgonesSDK#schedule(Runnable, Consumer, long)}
+ */
+interface AgonesTaskScheduler {
+
+    /**
+     * {@code onClosed} callback of the tasks nothing waits on
+     */
+    Consumer<Throwable> NOTHING_WAITING = error -> {
+    };
+
+    /**
+     * Runs {@code task} after {@code delayNanos}, or {@code onClosed} if the SDK is closed first
+     *
+     * @param task background work
+     * @param onClosed fails whatever waits on {@code task}, called with the error instead of running it
+     * @param delayNanos delay before running the task, in nanoseconds
+     * @return the scheduled task
+     */
+    Task schedule(Runnable task, Consumer<Throwable> onClosed, long delayNanos);
+
+    interface Task {
+        /**
+         * Drops the task if it has not run yet, without calling its {@code onClosed} callback
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,27 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AgonesThreads {
+
+    private AgonesThreads() {
+    }
+
+    /**
+     * Creates a thread factory for daemon threads, so SDK background work never keeps the JVM alive
+     *
+     * @param name thread name prefix
+     * @return daemon thread factory
+     */
+    static ThreadFactory daemonFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package dev.agones.sdk;
+
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event loop and scheduler shared by several {@link AgonesSDK} instances, so running many of them in one JVM
+ * does not cost a set of threads per instance.
+ * <p>
+ * Instances built with {@link AgonesSDK.Builder#transport(AgonesTransport)} never shut it down,
+ * it has to be closed once every instance using it is closed.
+ */
+public final class AgonesTransport implements AutoCloseable {
+
+    private final EventLoopGroup eventLoopGroup;
+    private final boolean epoll;
+    private final ScheduledExecutorService scheduler;
+
+    private AgonesTransport(int eventLoopThreads, int schedulerThreads) {
+        if (eventLoopThreads < 1 || schedulerThreads < 1) {
+            throw new IllegalArgumentException("thread counts must be at least 1");
+        }
+
+        this.epoll = Epoll.isAvailable();
+        this.eventLoopGroup = this.epoll
+                ? new EpollEventLoopGroup(eventLoopThreads, new DefaultThreadFactory("agones-transport-epoll", true))
+                : new NioEventLoopGroup(eventLoopThreads, new DefaultThreadFactory("agones-transport-nio", true));
+        this.scheduler = Executors.newScheduledThreadPool(
+                schedulerThreads, AgonesThreads.daemonFactory("agones-transport-scheduler"));
+    }
+
+    /**
+     * Creates a transport with one event loop thread per processor and a single scheduler thread
+     *
+     * @return new transport
+     */
+    public static AgonesTransport create() {
+        return create(Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    /**
+     * @param eventLoopThreads Netty event loop thread count, epoll is used when available
+     * @param schedulerThreads thread count of the scheduler running the SDK timers (retries, flushes, health pings)
+     * @return new transport
+     */
+    public static AgonesTransport create(int eventLoopThreads, int schedulerThreads) {
+        return new AgonesTransport(eventLoopThreads, schedulerThreads);
+    }
+
+    /**
+     * Shuts down the event loop and the scheduler
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+    }
+
+    EventLoopGroup eventLoopGroup() {
+        return this.eventLoopGroup;
+    }
+
+    boolean isEpoll() {
+        return this.epoll;
+    }
+
+    Class<? extends Channel> socketChannelType() {
+        return this.epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    ScheduledExecutorService scheduler() {
+        return this.scheduler;
+    }
+}
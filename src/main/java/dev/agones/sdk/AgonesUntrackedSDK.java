@@ -0,0 +1,118 @@
+package dev.agones.sdk;
+
+/**
+ * Calls whose result is not needed by the caller, for the highest-frequency paths.
+ * <p>
+ * No future is allocated per call: every method returns once the call is handed to the transport.
+ * Failures are only reported to the {@link AgonesMetrics}, and calls are never retried.
+ * Repeated request messages come from the SDK message caches.
+ * <p>
+ * Calls still go through the {@link AgonesMetadataBatcher} and the {@link AgonesLifecycle} when they are enabled.
+ *
+ * @see AgonesSDK#untracked()
+ */
+public class AgonesUntrackedSDK {
+
+    private final AgonesSDK sdk;
+
+    AgonesUntrackedSDK(AgonesSDK sdk) {
+        this.sdk = sdk;
+    }
+
+    /**
+     * @see AgonesSDK#ready()
+     */
+    public void ready() {
+        if (this.sdk.getLifecycle() != null) {
+            this.sdk.ready();
+            return;
+        }
+
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.READY,
+                this.sdk.client(),
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::ready);
+    }
+
+    /**
+     * @see AgonesSDK#allocate()
+     */
+    public void allocate() {
+        if (this.sdk.getLifecycle() != null) {
+            this.sdk.allocate();
+            return;
+        }
+
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.ALLOCATE,
+                this.sdk.client(),
+                Sdk.Empty.getDefaultInstance(),
+                SDKGrpc.SDKStub::allocate);
+    }
+
+    /**
+     * @param seconds Duration for the Game Server to be marked as reserved
+     * @see AgonesSDK#reserve(int)
+     */
+    public void reserve(int seconds) {
+        if (this.sdk.getLifecycle() != null) {
+            this.sdk.reserve(seconds);
+            return;
+        }
+
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.RESERVE,
+                this.sdk.client(),
+                this.sdk.messages().duration(seconds),
+                SDKGrpc.SDKStub::reserve);
+    }
+
+    /**
+     * @param key Label key
+     * @param value Label value
+     * @see AgonesSDK#setLabel(String, String)
+     */
+    public void setLabel(String key, String value) {
+        if (this.sdk.getMetadataBatcher() != null) {
+            this.sdk.setLabel(key, value);
+            return;
+        }
+
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.SET_LABEL,
+                this.sdk.client(),
+                this.sdk.messages().keyValue(key, value),
+                SDKGrpc.SDKStub::setLabel);
+    }
+
+    /**
+     * @param key Annotation key
+     * @param value Annotation value
+     * @see AgonesSDK#setAnnotation(String, String)
+     */
+    public void setAnnotation(String key, String value) {
+        if (this.sdk.getMetadataBatcher() != null) {
+            this.sdk.setAnnotation(key, value);
+            return;
+        }
+
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.SET_ANNOTATION,
+                this.sdk.client(),
+                this.sdk.messages().keyValue(key, value),
+                SDKGrpc.SDKStub::setAnnotation);
+    }
+
+    /**
+     * @param count new player capacity
+     * @see AgonesAlphaSDK#setPlayerCapacity(long)
+     */
+    public void setPlayerCapacity(long count) {
+        this.sdk.dispatcher().untracked(
+                AgonesMethod.SET_PLAYER_CAPACITY,
+                this.sdk.alpha().client(),
+                this.sdk.messages().count(count),
+                dev.agones.sdk.alpha.SDKGrpc.SDKStub::setPlayerCapacity);
+    }
+}
@@ -0,0 +1,219 @@
+package dev.agones.sdk;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Single {@literal WatchGameServer} stream shared by every watcher of an SDK instance.
+ * <p>
+ * The stream is opened by the first subscriber and reopened with exponential backoff whenever it fails or completes.
+ * Each update is mapped to an {@link AgonesGameServer} once and handed to every {@link AgonesWatchSubscription},
+ * which delivers it on the completion executor and only keeps the latest update while its subscriber is busy.
+ * New subscribers first receive the latest known update.
+ *
+ * @see AgonesSDK#getWatchHub()
+ */
+public class AgonesWatchHub {
+
+    static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final AgonesWatchSubscription[] NO_SUBSCRIBERS = new AgonesWatchSubscription[0];
+
+    private final SDKGrpc.SDKStub client;
+    private final Executor executor;
+    private final AgonesTaskScheduler scheduler;
+
+    private final AtomicReference<AgonesWatchSubscription[]> subscribers = new AtomicReference<>(NO_SUBSCRIBERS);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile Event latest;
+    private volatile ClientCallStreamObserver<Sdk.Empty> call;
+    private volatile boolean closed;
+
+    // Only touched by the callbacks of the current stream, which never overlap with another stream
+    private long sequence;
+    private long backoffNanos = INITIAL_BACKOFF_NANOS;
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+
+    AgonesWatchHub(SDKGrpc.SDKStub client, Executor executor, AgonesTaskScheduler scheduler) {
+        this.client = client;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return number of current subscribers
+     */
+    public int getSubscriberCount() {
+        return this.subscribers.get().length;
+    }
+
+    /**
+     * @return number of updates received from the sidecar
+     */
+    public long getUpdateCount() {
+        return this.updates.get();
+    }
+
+    /**
+     * @return how many times the stream was reopened
+     */
+    public long getStreamRestartCount() {
+        return this.restarts.get();
+    }
+
+    AgonesWatchSubscription subscribe(Consumer<Event> consumer) {
+        AgonesWatchSubscription subscription = new AgonesWatchSubscription(this, this.executor, consumer);
+
+        AgonesWatchSubscription[] current;
+        AgonesWatchSubscription[] next;
+        do {
+            current = this.subscribers.get();
+            next = new AgonesWatchSubscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = subscription;
+        } while (!this.subscribers.compareAndSet(current, next));
+
+        // Read after publishing the subscriber, so an update racing with this one is delivered either way
+        Event latest = this.latest;
+        if (latest != null) {
+            subscription.offer(latest);
+        }
+
+        if (this.started.compareAndSet(false, true)) {
+            open();
+        }
+
+        return subscription;
+    }
+
+    void unsubscribe(AgonesWatchSubscription subscription) {
+        AgonesWatchSubscription[] current;
+        AgonesWatchSubscription[] next;
+        do {
+            current = this.subscribers.get();
+
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscription) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                return;
+            }
+
+            next = new AgonesWatchSubscription[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, next.length - index);
+        } while (!this.subscribers.compareAndSet(current, next));
+    }
+
+    /**
+     * Cancels the stream for good.
+     * Sets {@code closed} before reading {@code call}, while a starting stream publishes itself before reading
+     * {@code closed}, so either one cancels it.
+     */
+    void close() {
+        this.closed = true;
+
+        ClientCallStreamObserver<Sdk.Empty> call = this.call;
+        if (call != null) {
+            call.cancel("SDK closed", null);
+        }
+    }
+
+    private void open() {
+        if (this.closed) {
+            return;
+        }
+
+        this.client.watchGameServer(Sdk.Empty.getDefaultInstance(), new WatchObserver());
+    }
+
+    private void publish(Event event) {
+        for (AgonesWatchSubscription subscription : this.subscribers.get()) {
+            subscription.offer(event);
+        }
+    }
+
+    private void reopen() {
+        if (this.closed) {
+            return;
+        }
+
+        long backoff = this.backoffNanos;
+        long jitter = ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        this.backoffNanos = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+
+        this.restarts.incrementAndGet();
+        this.scheduler.schedule(this::open, AgonesTaskScheduler.NOTHING_WAITING, backoff + jitter);
+    }
+
+    /**
+     * Update delivered to the subscribers, either a Game Server or the error that ended the stream
+     */
+    static final class Event {
+        final long sequence;
+        final Sdk.GameServer proto;
+        final AgonesGameServer gameServer;
+        final Throwable error;
+
+        private Event(long sequence, Sdk.GameServer proto, Throwable error) {
+            this.sequence = sequence;
+            this.proto = proto;
+            this.gameServer = proto == null ? null : AgonesGameServer.wrap(proto);
+            this.error = error;
+        }
+    }
+
+    private class WatchObserver implements ClientResponseObserver<Sdk.Empty, Sdk.GameServer> {
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Sdk.Empty> requestStream) {
+            call = requestStream;
+
+            // An open() racing with close() may start the stream after close() read the previous one
+            if (closed) {
+                requestStream.cancel("SDK closed", null);
+            }
+        }
+
+        @Override
+        public void onNext(Sdk.GameServer value) {
+            backoffNanos = INITIAL_BACKOFF_NANOS;
+            updates.incrementAndGet();
+
+            Event event = new Event(++sequence, value, null);
+            latest = event;
+            publish(event);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!closed) {
+                publish(new Event(++sequence, null, t));
+            }
+
+            reopen();
+        }
+
+        @Override
+        public void onCompleted() {
+            reopen();
+        }
+    }
+}
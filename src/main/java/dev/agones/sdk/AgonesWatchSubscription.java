@@ -0,0 +1,113 @@
+package dev.agones.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Subscription to the shared Game Server watch.
+ * <p>
+ * Updates are delivered one at a time and in order on the completion executor.
+ * While the subscriber is busy only the latest update is kept, the older ones are dropped,
+ * so a slow subscriber never holds back the others.
+ *
+ * @see AgonesSDK#watchGameServer(java.util.function.BiConsumer)
+ */
+public class AgonesWatchSubscription {
+
+    private final AgonesWatchHub hub;
+    private final Executor executor;
+    private final Consumer<AgonesWatchHub.Event> consumer;
+
+    private final AtomicReference<AgonesWatchHub.Event> pending = new AtomicReference<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private long lastSequence;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean cancelled;
+
+    AgonesWatchSubscription(AgonesWatchHub hub, Executor executor, Consumer<AgonesWatchHub.Event> consumer) {
+        this.hub = hub;
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Stops the delivery of updates, an update already being delivered still completes
+     */
+    public void cancel() {
+        this.cancelled = true;
+        this.hub.unsubscribe(this);
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return number of updates delivered to the subscriber
+     */
+    public long getDeliveredCount() {
+        return this.delivered.get();
+    }
+
+    /**
+     * @return number of updates dropped because a newer one arrived while the subscriber was busy
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    void offer(AgonesWatchHub.Event event) {
+        if (this.cancelled) {
+            return;
+        }
+
+        AgonesWatchHub.Event current;
+        do {
+            current = this.pending.get();
+            // The replay of the latest update on subscribe can race with a newer one
+            if (current != null && current.sequence >= event.sequence) {
+                return;
+            }
+        } while (!this.pending.compareAndSet(current, event));
+
+        if (current != null) {
+            this.dropped.incrementAndGet();
+        }
+
+        if (this.wip.getAndIncrement() == 0) {
+            try {
+                this.executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // delivers on the calling thread rather than stalling the subscription for good
+                drain();
+            }
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            AgonesWatchHub.Event event = this.pending.getAndSet(null);
+
+            if (event != null && event.sequence > this.lastSequence && !this.cancelled) {
+                this.lastSequence = event.sequence;
+                this.delivered.incrementAndGet();
+
+                try {
+                    this.consumer.accept(event);
+                } catch (RuntimeException e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,135 @@
+package dev.agones.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgonesIntSetTest {
+
+    @Test
+    void addsRemovesAndChecksValues() {
+        AgonesIntSet set = new AgonesIntSet(8);
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(3));
+        assertTrue(set.add(0));
+        assertFalse(set.add(3));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(4));
+        assertFalse(set.contains(-1));
+
+        assertTrue(set.remove(3));
+        assertFalse(set.remove(3));
+        assertFalse(set.remove(100));
+        assertFalse(set.contains(3));
+        assertEquals(1, set.size());
+        assertEquals(0, set.get(0));
+    }
+
+    @Test
+    void growsPastTheExpectedMaxValue() {
+        AgonesIntSet set = new AgonesIntSet(2);
+
+        for (int value = 0; value < 100; value += 3) {
+            assertTrue(set.add(value));
+        }
+        assertTrue(set.add(10_000));
+
+        assertEquals(35, set.size());
+        for (int value = 0; value < 100; value++) {
+            assertEquals(value % 3 == 0, set.contains(value));
+        }
+        assertTrue(set.contains(10_000));
+    }
+
+    @Test
+    void clearsWithoutLeavingStaleValues() {
+        AgonesIntSet set = new AgonesIntSet(8);
+        set.add(1);
+        set.add(5);
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(5));
+        assertTrue(set.add(5));
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    void rejectsNegativeValuesAndOutOfBoundsIndexes() {
+        AgonesIntSet set = new AgonesIntSet(8);
+        set.add(1);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(-1));
+    }
+
+    @Test
+    void iteratesEveryValueAfterRemovals() {
+        AgonesIntSet set = new AgonesIntSet(16);
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(64);
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        Set<Integer> actual = new HashSet<>();
+        for (int i = 0; i < set.size(); i++) {
+            actual.add(set.get(i));
+        }
+
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    void differenceKeepsValuesMissingFromTheOtherSet() {
+        AgonesIntSet before = new AgonesIntSet(8);
+        AgonesIntSet after = new AgonesIntSet(8);
+        AgonesIntSet left = new AgonesIntSet(8);
+        before.add(1);
+        before.add(2);
+        before.add(3);
+        after.add(2);
+        after.add(4);
+
+        // stale values of the target are dropped
+        left.add(7);
+
+        AgonesIntSet.difference(before, after, left);
+
+        assertEquals(2, left.size());
+        assertTrue(left.contains(1));
+        assertTrue(left.contains(3));
+        assertFalse(left.contains(2));
+        assertFalse(left.contains(7));
+
+        AgonesIntSet.difference(after, before, left);
+
+        assertEquals(1, left.size());
+        assertTrue(left.contains(4));
+
+        AgonesIntSet.difference(before, before, left);
+
+        assertTrue(left.isEmpty());
+    }
+}
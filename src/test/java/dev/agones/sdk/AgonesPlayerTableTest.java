@@ -0,0 +1,206 @@
+package dev.agones.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgonesPlayerTableTest {
+
+    /**
+     * {@code new AgonesPlayerTable(4)} starts with 8 slots and grows on the 5th id
+     */
+    private static final int EXPECTED_PLAYERS = 4;
+    private static final int MASK = 7;
+
+    @Test
+    void internsAndFindsIds() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+
+        int alice = table.intern("alice");
+        int bob = table.intern("bob");
+
+        assertNotEquals(alice, bob);
+        assertEquals(alice, table.intern("alice"));
+        assertEquals(alice, table.find("alice"));
+        assertEquals(bob, table.find("bob"));
+        assertEquals(AgonesPlayerTable.NO_HANDLE, table.find("carol"));
+        assertEquals("alice", table.id(alice));
+        assertEquals("bob", table.id(bob));
+        assertNull(table.id(AgonesPlayerTable.NO_HANDLE));
+        assertNull(table.id(table.getHandleBound()));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void collisionChainWrapsTheTable() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+
+        // slots 6, 7, then 0 and 1 after wrapping
+        List<String> ids = idsHomedAt(6, 3);
+        ids.add(idsHomedAt(7, 1).get(0));
+
+        for (String id : ids) {
+            table.intern(id);
+        }
+
+        assertAllFound(table, ids);
+
+        // homed in the first slot, behind the wrapped chain
+        String first = idsHomedAt(0, 1).get(0);
+        table.release(ids.get(3));
+        table.intern(first);
+        ids.set(3, first);
+
+        assertAllFound(table, ids);
+    }
+
+    @Test
+    void releaseInsideAChainKeepsTheRestFound() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+
+        // slots 6, 7, 0 and 1, the one homed at 7 is pushed past the wrap
+        List<String> ids = idsHomedAt(6, 2);
+        ids.add(idsHomedAt(7, 1).get(0));
+        ids.add(idsHomedAt(6, 3).get(2));
+
+        for (String id : ids) {
+            table.intern(id);
+        }
+
+        String released = ids.remove(1);
+        assertNotEquals(AgonesPlayerTable.NO_HANDLE, table.release(released));
+        assertEquals(AgonesPlayerTable.NO_HANDLE, table.find(released));
+        assertEquals(AgonesPlayerTable.NO_HANDLE, table.release(released));
+
+        assertAllFound(table, ids);
+
+        // and the head of the chain
+        table.release(ids.remove(0));
+
+        assertAllFound(table, ids);
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void growsInTheMiddleOfAChain() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+
+        // slots 7, 0, 1 and 2, the 5th id grows the table
+        List<String> ids = idsHomedAt(7, 5);
+        Map<String, Integer> handles = new HashMap<>();
+
+        for (String id : ids) {
+            handles.put(id, table.intern(id));
+        }
+
+        assertEquals(5, table.size());
+        for (String id : ids) {
+            assertEquals(handles.get(id), table.find(id));
+            assertEquals(id, table.id(handles.get(id)));
+        }
+
+        // the chain is still consistent for releases after growing
+        table.release(ids.get(2));
+        ids.remove(2);
+
+        assertAllFound(table, ids);
+    }
+
+    @Test
+    void reusesReleasedHandles() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+
+        int alice = table.intern("alice");
+        int bob = table.intern("bob");
+        table.intern("carol");
+
+        assertEquals(alice, table.release("alice"));
+        assertEquals(bob, table.release("bob"));
+        assertNull(table.id(alice));
+
+        // the last released handle is given first
+        assertEquals(bob, table.intern("dave"));
+        assertEquals(alice, table.intern("erin"));
+        assertEquals("dave", table.id(bob));
+        assertEquals("erin", table.id(alice));
+        assertEquals(AgonesPlayerTable.NO_HANDLE, table.find("alice"));
+        assertEquals(3, table.getHandleBound());
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void matchesAMapUnderRandomOperations() {
+        AgonesPlayerTable table = new AgonesPlayerTable(EXPECTED_PLAYERS);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // few home slots, so most ids collide
+        List<String> ids = idsHomedAt(7, 20);
+        ids.addAll(idsHomedAt(0, 20));
+
+        for (int i = 0; i < 10_000; i++) {
+            String id = ids.get(random.nextInt(ids.size()));
+
+            if (random.nextBoolean()) {
+                int handle = table.intern(id);
+                Integer previous = expected.putIfAbsent(id, handle);
+                if (previous != null) {
+                    assertEquals(previous.intValue(), handle);
+                }
+            } else {
+                Integer previous = expected.remove(id);
+                assertEquals(previous == null ? AgonesPlayerTable.NO_HANDLE : previous, table.release(id));
+            }
+
+            assertEquals(expected.size(), table.size());
+        }
+
+        Set<Integer> handles = new HashSet<>();
+        for (String id : ids) {
+            Integer handle = expected.get(id);
+            assertEquals(handle == null ? AgonesPlayerTable.NO_HANDLE : handle, table.find(id));
+
+            if (handle != null) {
+                assertTrue(handles.add(handle));
+                assertTrue(handle < table.getHandleBound());
+                assertEquals(id, table.id(handle));
+            }
+        }
+    }
+
+    private static void assertAllFound(AgonesPlayerTable table, List<String> ids) {
+        for (String id : ids) {
+            int handle = table.find(id);
+
+            assertNotEquals(AgonesPlayerTable.NO_HANDLE, handle, id);
+            assertEquals(id, table.id(handle));
+        }
+    }
+
+    /**
+     * @return ids whose home is this slot of a table of 8 slots
+     */
+    private static List<String> idsHomedAt(int slot, int count) {
+        List<String> ids = new ArrayList<>();
+
+        for (int i = 0; ids.size() < count; i++) {
+            String id = "player-" + i;
+            if ((AgonesPlayerTable.mix(id.hashCode()) & MASK) == slot) {
+                ids.add(id);
+            }
+        }
+
+        return ids;
+    }
+}
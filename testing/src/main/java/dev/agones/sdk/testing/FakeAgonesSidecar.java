@@ -0,0 +1,832 @@
+package dev.agones.sdk.testing;
+
+import dev.agones.sdk.SDKGrpc;
+import dev.agones.sdk.Sdk;
+import dev.agones.sdk.alpha.Alpha;
+import dev.agones.sdk.beta.Beta;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-in for the Agones sidecar, implementing every call of the stable, alpha and beta SDK.
+ * <p>
+ * The sidecar keeps the {@link Sdk.GameServer} in memory, bumps its resource version on every change
+ * and pushes it to the open {@literal WatchGameServer} streams.
+ * Latency and errors can be injected per call, using the gRPC method name (e.g. {@literal Ready}, {@literal PlayerConnect}).
+ * <p>
+ * Like the real sidecar, Labels and Annotations set through the SDK are stored with the {@value #METADATA_PREFIX} prefix.
+ * Counters and Lists only exist once declared with {@link #setCounter(String, long, long)}
+ * and {@link #setList(String, long, String...)}, as they would be in the Game Server spec.
+ */
+public class FakeAgonesSidecar implements AutoCloseable {
+
+    public static final String METADATA_PREFIX = "agones.dev/sdk-";
+
+    public static final long DEFAULT_PLAYER_CAPACITY = 100;
+
+    /**
+     * Largest List capacity accepted by Agones
+     */
+    public static final long MAX_LIST_CAPACITY = 1000;
+
+    /**
+     * Name used to configure a fault for every call
+     */
+    public static final String ALL_METHODS = "*";
+
+    private final Server server;
+    private final String inProcessName;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fake-agones-sidecar");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private final List<Watcher> watchers = new CopyOnWriteArrayList<>();
+    private final Map<String, Fault> faults = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final AtomicLong healthPings = new AtomicLong();
+
+    // Guarded by this
+    private Sdk.GameServer gameServer;
+    private long resourceVersion = 1;
+    private final Map<String, Beta.Counter> counters = new HashMap<>();
+    private final Map<String, Beta.List> lists = new HashMap<>();
+
+    private volatile long lastHealthPingNanos;
+
+    private FakeAgonesSidecar(ServerBuilder<?> serverBuilder, String inProcessName) throws IOException {
+        this.inProcessName = inProcessName;
+        this.gameServer = defaultGameServer();
+        this.server = serverBuilder
+                .addService(new SdkService())
+                .addService(new AlphaService())
+                .addService(new BetaService())
+                .build()
+                .start();
+    }
+
+    /**
+     * Starts a sidecar reachable through the in-process transport only
+     *
+     * @return started sidecar
+     * @throws IOException if the server could not start
+     */
+    public static FakeAgonesSidecar inProcess() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+
+        return new FakeAgonesSidecar(InProcessServerBuilder.forName(name).directExecutor(), name);
+    }
+
+    /**
+     * Starts a sidecar listening on a real port, so it can be targeted with {@code AgonesSDK.create(int)}
+     *
+     * @param port port to listen on, or 0 to pick a free one
+     * @return started sidecar
+     * @throws IOException if the server could not bind the port
+     */
+    public static FakeAgonesSidecar onPort(int port) throws IOException {
+        return new FakeAgonesSidecar(ServerBuilder.forPort(port), null);
+    }
+
+    /**
+     * @return the listening port, or -1 for an in-process sidecar
+     */
+    public int getPort() {
+        return this.server.getPort();
+    }
+
+    /**
+     * Creates a new client channel to this sidecar. The caller owns the channel and has to shut it down.
+     *
+     * @return new channel
+     */
+    public ManagedChannel newChannel() {
+        if (this.inProcessName != null) {
+            return InProcessChannelBuilder.forName(this.inProcessName)
+                    .directExecutor()
+                    .build();
+        }
+
+        return ManagedChannelBuilder.forAddress("localhost", getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    /**
+     * @return current Game Server
+     */
+    public synchronized Sdk.GameServer getGameServer() {
+        return this.gameServer;
+    }
+
+    /**
+     * @return current Game Server state
+     */
+    public String getState() {
+        return getGameServer().getStatus().getState();
+    }
+
+    /**
+     * Applies {@code update} to the Game Server, bumps its resource version and sends it to every watcher
+     *
+     * @param update Game Server modification
+     */
+    public synchronized void updateGameServer(Consumer<Sdk.GameServer.Builder> update) {
+        Sdk.GameServer.Builder builder = this.gameServer.toBuilder();
+        update.accept(builder);
+
+        this.resourceVersion++;
+        builder.getObjectMetaBuilder().setResourceVersion(Long.toString(this.resourceVersion));
+
+        this.gameServer = builder.build();
+        publish();
+    }
+
+    /**
+     * Sends the current Game Server to every watcher again, without changing its resource version
+     */
+    public synchronized void publish() {
+        for (Watcher watcher : this.watchers) {
+            watcher.send(this.gameServer);
+        }
+    }
+
+    /**
+     * Sends {@code updates} consecutive Game Server updates to every watcher,
+     * each with a new resource version and a changing {@literal storm} annotation
+     *
+     * @param updates number of updates to send
+     */
+    public synchronized void watchStorm(int updates) {
+        for (int i = 0; i < updates; i++) {
+            String value = Integer.toString(i);
+            updateGameServer(builder -> builder.getObjectMetaBuilder().putAnnotations("storm", value));
+        }
+    }
+
+    /**
+     * Declares a Counter, or replaces it
+     *
+     * @param name Counter name
+     * @param count current count
+     * @param capacity maximum count
+     */
+    public synchronized void setCounter(String name, long count, long capacity) {
+        this.counters.put(name, counter(name, count, capacity));
+    }
+
+    /**
+     * @param name Counter name
+     * @return the Counter, or null if it was not declared
+     */
+    public synchronized Beta.Counter getCounter(String name) {
+        return this.counters.get(name);
+    }
+
+    /**
+     * Declares a List, or replaces it
+     *
+     * @param name List name
+     * @param capacity maximum number of values
+     * @param values current values
+     */
+    public synchronized void setList(String name, long capacity, String... values) {
+        this.lists.put(name, list(name, capacity, Arrays.asList(values)));
+    }
+
+    /**
+     * @param name List name
+     * @return the List, or null if it was not declared
+     */
+    public synchronized Beta.List getList(String name) {
+        return this.lists.get(name);
+    }
+
+    /**
+     * @return number of open watch streams
+     */
+    public int getWatcherCount() {
+        return this.watchers.size();
+    }
+
+    /**
+     * @return number of health pings received
+     */
+    public long getHealthPingCount() {
+        return this.healthPings.get();
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last health ping, or 0 if none was received
+     */
+    public long getLastHealthPingNanos() {
+        return this.lastHealthPingNanos;
+    }
+
+    /**
+     * @param method gRPC method name, e.g. {@literal SetLabel}
+     * @return number of calls received for this method
+     */
+    public long getCallCount(String method) {
+        AtomicLong count = this.calls.get(method);
+
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Delays every reply of {@code method}
+     *
+     * @param method gRPC method name, or {@link #ALL_METHODS}
+     * @param latency delay
+     * @param unit {@code latency} time unit
+     */
+    public void setLatency(String method, long latency, TimeUnit unit) {
+        fault(method).latencyNanos = unit.toNanos(latency);
+    }
+
+    /**
+     * Fails the next {@code times} calls of {@code method}
+     *
+     * @param method gRPC method name, or {@link #ALL_METHODS}
+     * @param times number of calls to fail
+     * @param status status the calls fail with
+     */
+    public void failNext(String method, int times, Status status) {
+        Fault fault = fault(method);
+        fault.status = status;
+        fault.failNext.set(times);
+    }
+
+    /**
+     * Fails a random share of the calls of {@code method}
+     *
+     * @param method gRPC method name, or {@link #ALL_METHODS}
+     * @param rate share of calls to fail, between 0 and 1
+     * @param status status the calls fail with
+     */
+    public void setFailureRate(String method, double rate, Status status) {
+        Fault fault = fault(method);
+        fault.status = status;
+        fault.failureRate = rate;
+    }
+
+    /**
+     * Removes every injected latency and error
+     */
+    public void clearFaults() {
+        this.faults.clear();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Watcher watcher : this.watchers) {
+            watcher.complete();
+        }
+
+        this.scheduler.shutdownNow();
+        this.server.shutdownNow();
+        this.server.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private Fault fault(String method) {
+        return this.faults.computeIfAbsent(method, name -> new Fault());
+    }
+
+    private <T> void respond(String method, StreamObserver<T> observer, Supplier<T> reply) {
+        this.calls.computeIfAbsent(method, name -> new AtomicLong()).incrementAndGet();
+
+        Fault fault = this.faults.get(method);
+        Fault global = this.faults.get(ALL_METHODS);
+
+        long latencyNanos = Math.max(
+                fault == null ? 0 : fault.latencyNanos,
+                global == null ? 0 : global.latencyNanos);
+
+        Runnable task = () -> {
+            Status failure = fault == null ? null : fault.failure();
+            if (failure == null && global != null) {
+                failure = global.failure();
+            }
+
+            if (failure != null) {
+                observer.onError(failure.asRuntimeException());
+                return;
+            }
+
+            T value;
+            try {
+                value = reply.get();
+            } catch (StatusRuntimeException e) {
+                observer.onError(e);
+                return;
+            }
+
+            observer.onNext(value);
+            observer.onCompleted();
+        };
+
+        if (latencyNanos > 0) {
+            this.scheduler.schedule(task, latencyNanos, TimeUnit.NANOSECONDS);
+        } else {
+            task.run();
+        }
+    }
+
+    private Sdk.Empty setState(String state) {
+        updateGameServer(builder -> builder.getStatusBuilder().setState(state));
+
+        return Sdk.Empty.getDefaultInstance();
+    }
+
+    private Beta.Counter existingCounter(String name) {
+        Beta.Counter counter = this.counters.get(name);
+        if (counter == null) {
+            throw Status.NOT_FOUND.withDescription("counter not found: " + name).asRuntimeException();
+        }
+
+        return counter;
+    }
+
+    private Beta.List existingList(String name) {
+        Beta.List list = this.lists.get(name);
+        if (list == null) {
+            throw Status.NOT_FOUND.withDescription("list not found: " + name).asRuntimeException();
+        }
+
+        return list;
+    }
+
+    private static Beta.Counter counter(String name, long count, long capacity) {
+        return Beta.Counter.newBuilder()
+                .setName(name)
+                .setCount(count)
+                .setCapacity(capacity)
+                .build();
+    }
+
+    private static Beta.List list(String name, long capacity, Iterable<String> values) {
+        return Beta.List.newBuilder()
+                .setName(name)
+                .setCapacity(capacity)
+                .addAllValues(values)
+                .build();
+    }
+
+    private static Sdk.GameServer defaultGameServer() {
+        return Sdk.GameServer.newBuilder()
+                .setObjectMeta(Sdk.GameServer.ObjectMeta.newBuilder()
+                        .setName("local")
+                        .setNamespace("default")
+                        .setUid("00000000-0000-0000-0000-000000000000")
+                        .setResourceVersion("1")
+                        .setGeneration(1)
+                        .setCreationTimestamp(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()))
+                        .build())
+                .setSpec(Sdk.GameServer.Spec.newBuilder()
+                        .setHealth(Sdk.GameServer.Spec.Health.newBuilder()
+                                .setPeriodSeconds(5)
+                                .setFailureThreshold(3)
+                                .setInitialDelaySeconds(5)
+                                .build())
+                        .build())
+                .setStatus(Sdk.GameServer.Status.newBuilder()
+                        .setState("Scheduled")
+                        .setAddress("127.0.0.1")
+                        .addPorts(Sdk.GameServer.Status.Port.newBuilder().setName("default").setPort(7777).build())
+                        .setPlayers(Sdk.GameServer.Status.PlayerStatus.newBuilder()
+                                .setCapacity(DEFAULT_PLAYER_CAPACITY)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static class Fault {
+        private volatile long latencyNanos;
+        private volatile double failureRate;
+        private volatile Status status = Status.UNAVAILABLE;
+        private final AtomicInteger failNext = new AtomicInteger();
+
+        private Status failure() {
+            while (true) {
+                int remaining = this.failNext.get();
+                if (remaining <= 0) {
+                    break;
+                }
+
+                if (this.failNext.compareAndSet(remaining, remaining - 1)) {
+                    return this.status;
+                }
+            }
+
+            if (this.failureRate > 0 && ThreadLocalRandom.current().nextDouble() < this.failureRate) {
+                return this.status;
+            }
+
+            return null;
+        }
+    }
+
+    private class Watcher {
+        private final StreamObserver<Sdk.GameServer> observer;
+
+        private Watcher(StreamObserver<Sdk.GameServer> observer) {
+            this.observer = observer;
+        }
+
+        private synchronized void send(Sdk.GameServer gameServer) {
+            try {
+                this.observer.onNext(gameServer);
+            } catch (RuntimeException e) {
+                watchers.remove(this);
+            }
+        }
+
+        private synchronized void complete() {
+            try {
+                this.observer.onCompleted();
+            } catch (RuntimeException e) {
+                //Already cancelled by the client
+            }
+        }
+    }
+
+    private class SdkService extends SDKGrpc.SDKImplBase {
+
+        @Override
+        public void ready(Sdk.Empty request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("Ready", responseObserver, () -> setState("Ready"));
+        }
+
+        @Override
+        public void allocate(Sdk.Empty request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("Allocate", responseObserver, () -> setState("Allocated"));
+        }
+
+        @Override
+        public void shutdown(Sdk.Empty request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("Shutdown", responseObserver, () -> setState("Shutdown"));
+        }
+
+        @Override
+        public StreamObserver<Sdk.Empty> health(StreamObserver<Sdk.Empty> responseObserver) {
+            calls.computeIfAbsent("Health", name -> new AtomicLong()).incrementAndGet();
+
+            return new StreamObserver<Sdk.Empty>() {
+                private boolean closed;
+
+                @Override
+                public synchronized void onNext(Sdk.Empty value) {
+                    if (this.closed) {
+                        return;
+                    }
+
+                    Fault fault = faults.get("Health");
+                    Status failure = fault == null ? null : fault.failure();
+                    if (failure != null) {
+                        this.closed = true;
+                        responseObserver.onError(failure.asRuntimeException());
+                        return;
+                    }
+
+                    healthPings.incrementAndGet();
+                    lastHealthPingNanos = System.nanoTime();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+
+                }
+
+                @Override
+                public synchronized void onCompleted() {
+                    if (!this.closed) {
+                        this.closed = true;
+                        responseObserver.onNext(Sdk.Empty.getDefaultInstance());
+                        responseObserver.onCompleted();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void getGameServer(Sdk.Empty request, StreamObserver<Sdk.GameServer> responseObserver) {
+            respond("GetGameServer", responseObserver, FakeAgonesSidecar.this::getGameServer);
+        }
+
+        @Override
+        public void watchGameServer(Sdk.Empty request, StreamObserver<Sdk.GameServer> responseObserver) {
+            calls.computeIfAbsent("WatchGameServer", name -> new AtomicLong()).incrementAndGet();
+
+            Fault fault = faults.get("WatchGameServer");
+            Status failure = fault == null ? null : fault.failure();
+            if (failure != null) {
+                responseObserver.onError(failure.asRuntimeException());
+                return;
+            }
+
+            Watcher watcher = new Watcher(responseObserver);
+            if (responseObserver instanceof ServerCallStreamObserver) {
+                ((ServerCallStreamObserver<Sdk.GameServer>) responseObserver)
+                        .setOnCancelHandler(() -> watchers.remove(watcher));
+            }
+
+            synchronized (FakeAgonesSidecar.this) {
+                watchers.add(watcher);
+                watcher.send(gameServer);
+            }
+        }
+
+        @Override
+        public void setLabel(Sdk.KeyValue request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("SetLabel", responseObserver, () -> {
+                updateGameServer(builder -> builder.getObjectMetaBuilder()
+                        .putLabels(METADATA_PREFIX + request.getKey(), request.getValue()));
+
+                return Sdk.Empty.getDefaultInstance();
+            });
+        }
+
+        @Override
+        public void setAnnotation(Sdk.KeyValue request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("SetAnnotation", responseObserver, () -> {
+                updateGameServer(builder -> builder.getObjectMetaBuilder()
+                        .putAnnotations(METADATA_PREFIX + request.getKey(), request.getValue()));
+
+                return Sdk.Empty.getDefaultInstance();
+            });
+        }
+
+        @Override
+        public void reserve(Sdk.Duration request, StreamObserver<Sdk.Empty> responseObserver) {
+            respond("Reserve", responseObserver, () -> {
+                setState("Reserved");
+
+                long seconds = request.getSeconds();
+                if (seconds > 0) {
+                    scheduler.schedule(() -> {
+                        synchronized (FakeAgonesSidecar.this) {
+                            if ("Reserved".equals(getState())) {
+                                setState("Ready");
+                            }
+                        }
+                    }, seconds, TimeUnit.SECONDS);
+                }
+
+                return Sdk.Empty.getDefaultInstance();
+            });
+        }
+    }
+
+    private class AlphaService extends dev.agones.sdk.alpha.SDKGrpc.SDKImplBase {
+
+        @Override
+        public void playerConnect(Alpha.PlayerID request, StreamObserver<Alpha.Bool> responseObserver) {
+            respond("PlayerConnect", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    Sdk.GameServer.Status.PlayerStatus players = gameServer.getStatus().getPlayers();
+
+                    if (players.getIdsList().contains(request.getPlayerID())) {
+                        return Alpha.Bool.newBuilder().setBool(false).build();
+                    }
+
+                    if (players.getCount() >= players.getCapacity()) {
+                        throw Status.UNKNOWN.withDescription("players are already at capacity").asRuntimeException();
+                    }
+
+                    updateGameServer(builder -> {
+                        Sdk.GameServer.Status.PlayerStatus.Builder playersBuilder = builder.getStatusBuilder().getPlayersBuilder();
+                        playersBuilder.addIds(request.getPlayerID());
+                        playersBuilder.setCount(playersBuilder.getCount() + 1);
+                    });
+
+                    return Alpha.Bool.newBuilder().setBool(true).build();
+                }
+            });
+        }
+
+        @Override
+        public void playerDisconnect(Alpha.PlayerID request, StreamObserver<Alpha.Bool> responseObserver) {
+            respond("PlayerDisconnect", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    List<String> ids = new ArrayList<>(gameServer.getStatus().getPlayers().getIdsList());
+
+                    if (!ids.remove(request.getPlayerID())) {
+                        return Alpha.Bool.newBuilder().setBool(false).build();
+                    }
+
+                    updateGameServer(builder -> builder.getStatusBuilder().getPlayersBuilder()
+                            .clearIds()
+                            .addAllIds(ids)
+                            .setCount(ids.size()));
+
+                    return Alpha.Bool.newBuilder().setBool(true).build();
+                }
+            });
+        }
+
+        @Override
+        public void setPlayerCapacity(Alpha.Count request, StreamObserver<Alpha.Empty> responseObserver) {
+            respond("SetPlayerCapacity", responseObserver, () -> {
+                updateGameServer(builder -> builder.getStatusBuilder().getPlayersBuilder().setCapacity(request.getCount()));
+
+                return Alpha.Empty.getDefaultInstance();
+            });
+        }
+
+        @Override
+        public void getPlayerCapacity(Alpha.Empty request, StreamObserver<Alpha.Count> responseObserver) {
+            respond("GetPlayerCapacity", responseObserver, () -> Alpha.Count.newBuilder()
+                    .setCount(getGameServer().getStatus().getPlayers().getCapacity())
+                    .build());
+        }
+
+        @Override
+        public void getPlayerCount(Alpha.Empty request, StreamObserver<Alpha.Count> responseObserver) {
+            respond("GetPlayerCount", responseObserver, () -> Alpha.Count.newBuilder()
+                    .setCount(getGameServer().getStatus().getPlayers().getCount())
+                    .build());
+        }
+
+        @Override
+        public void isPlayerConnected(Alpha.PlayerID request, StreamObserver<Alpha.Bool> responseObserver) {
+            respond("IsPlayerConnected", responseObserver, () -> Alpha.Bool.newBuilder()
+                    .setBool(getGameServer().getStatus().getPlayers().getIdsList().contains(request.getPlayerID()))
+                    .build());
+        }
+
+        @Override
+        public void getConnectedPlayers(Alpha.Empty request, StreamObserver<Alpha.PlayerIDList> responseObserver) {
+            respond("GetConnectedPlayers", responseObserver, () -> Alpha.PlayerIDList.newBuilder()
+                    .addAllList(getGameServer().getStatus().getPlayers().getIdsList())
+                    .build());
+        }
+    }
+
+    private class BetaService extends dev.agones.sdk.beta.SDKGrpc.SDKImplBase {
+
+        @Override
+        public void getCounter(Beta.GetCounterRequest request, StreamObserver<Beta.Counter> responseObserver) {
+            respond("GetCounter", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    return existingCounter(request.getName());
+                }
+            });
+        }
+
+        @Override
+        public void updateCounter(Beta.UpdateCounterRequest request, StreamObserver<Beta.Counter> responseObserver) {
+            respond("UpdateCounter", responseObserver, () -> {
+                Beta.CounterUpdateRequest update = request.getCounterUpdateRequest();
+
+                synchronized (FakeAgonesSidecar.this) {
+                    Beta.Counter counter = existingCounter(update.getName());
+
+                    long capacity = update.hasCapacity() ? update.getCapacity().getValue() : counter.getCapacity();
+                    long count = update.hasCount() ? update.getCount().getValue() : counter.getCount();
+                    count += update.getCountDiff();
+
+                    if (capacity < 0 || count < 0 || count > capacity) {
+                        throw Status.OUT_OF_RANGE
+                                .withDescription("count " + count + " out of range [0, " + capacity + "]")
+                                .asRuntimeException();
+                    }
+
+                    Beta.Counter updated = counter(counter.getName(), count, capacity);
+                    counters.put(updated.getName(), updated);
+
+                    return updated;
+                }
+            });
+        }
+
+        @Override
+        public void getList(Beta.GetListRequest request, StreamObserver<Beta.List> responseObserver) {
+            respond("GetList", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    return existingList(request.getName());
+                }
+            });
+        }
+
+        @Override
+        public void updateList(Beta.UpdateListRequest request, StreamObserver<Beta.List> responseObserver) {
+            respond("UpdateList", responseObserver, () -> {
+                Beta.List update = request.getList();
+
+                synchronized (FakeAgonesSidecar.this) {
+                    Beta.List list = existingList(update.getName());
+
+                    long capacity = list.getCapacity();
+                    List<String> values = list.getValuesList();
+
+                    for (String path : request.getUpdateMask().getPathsList()) {
+                        if ("capacity".equals(path)) {
+                            capacity = update.getCapacity();
+                        } else if ("values".equals(path)) {
+                            values = update.getValuesList();
+                        } else {
+                            throw Status.INVALID_ARGUMENT
+                                    .withDescription("invalid field mask path: " + path)
+                                    .asRuntimeException();
+                        }
+                    }
+
+                    if (capacity < 0 || capacity > MAX_LIST_CAPACITY) {
+                        throw Status.OUT_OF_RANGE
+                                .withDescription("capacity " + capacity + " out of range [0, " + MAX_LIST_CAPACITY + "]")
+                                .asRuntimeException();
+                    }
+
+                    // Duplicates are dropped and the values over capacity are truncated, like Agones does
+                    List<String> kept = new ArrayList<>(new LinkedHashSet<>(values));
+                    if (kept.size() > capacity) {
+                        kept = kept.subList(0, (int) capacity);
+                    }
+
+                    Beta.List updated = list(list.getName(), capacity, kept);
+                    lists.put(updated.getName(), updated);
+
+                    return updated;
+                }
+            });
+        }
+
+        @Override
+        public void addListValue(Beta.AddListValueRequest request, StreamObserver<Beta.List> responseObserver) {
+            respond("AddListValue", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    Beta.List list = existingList(request.getName());
+
+                    if (list.getValuesList().contains(request.getValue())) {
+                        throw Status.ALREADY_EXISTS
+                                .withDescription("value already in list: " + request.getValue())
+                                .asRuntimeException();
+                    }
+
+                    if (list.getValuesCount() >= list.getCapacity()) {
+                        throw Status.OUT_OF_RANGE.withDescription("list is at capacity").asRuntimeException();
+                    }
+
+                    Set<String> values = new LinkedHashSet<>(list.getValuesList());
+                    values.add(request.getValue());
+
+                    Beta.List updated = list(list.getName(), list.getCapacity(), values);
+                    lists.put(updated.getName(), updated);
+
+                    return updated;
+                }
+            });
+        }
+
+        @Override
+        public void removeListValue(Beta.RemoveListValueRequest request, StreamObserver<Beta.List> responseObserver) {
+            respond("RemoveListValue", responseObserver, () -> {
+                synchronized (FakeAgonesSidecar.this) {
+                    Beta.List list = existingList(request.getName());
+
+                    List<String> values = new ArrayList<>(list.getValuesList());
+                    if (!values.remove(request.getValue())) {
+                        throw Status.NOT_FOUND
+                                .withDescription("value not in list: " + request.getValue())
+                                .asRuntimeException();
+                    }
+
+                    Beta.List updated = list(list.getName(), list.getCapacity(), values);
+                    lists.put(updated.getName(), updated);
+
+                    return updated;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the retries and hedging of {@link AgonesCallDispatcher} against a {@link FakeAgonesSidecar}
+ * with injected latency and errors
+ */
+class AgonesCallDispatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final AgonesCallPolicy FAST_RETRIES = AgonesCallPolicy.builder()
+            .maxAttempts(10)
+            .backoff(1, 5, 2, TimeUnit.MILLISECONDS)
+            .build();
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.sdk != null) {
+            this.sdk.close();
+        }
+        if (this.channel != null) {
+            this.channel.shutdownNow();
+        }
+        if (this.sidecar != null) {
+            this.sidecar.close();
+        }
+    }
+
+    @Test
+    void retriesRetryableFailures() throws Exception {
+        start(builder -> builder.callPolicy(AgonesMethod.READY, FAST_RETRIES));
+        this.sidecar.failNext("Ready", 2, Status.UNAVAILABLE);
+
+        await(this.sdk.ready());
+
+        assertEquals(3, this.sidecar.getCallCount("Ready"));
+        assertEquals("Ready", this.sidecar.getState());
+        // two failures charged, one success given back
+        assertEquals(8.1, this.sdk.getRetryBudget().getTokens());
+    }
+
+    @Test
+    void neitherRetriesNorChargesOtherFailures() throws Exception {
+        start(builder -> builder.callPolicy(AgonesMethod.READY, FAST_RETRIES));
+        this.sidecar.failNext("Ready", 1, Status.INTERNAL);
+
+        assertThrows(ExecutionException.class, () -> await(this.sdk.ready()));
+
+        assertEquals(1, this.sidecar.getCallCount("Ready"));
+        assertEquals(10.0, this.sdk.getRetryBudget().getTokens());
+    }
+
+    @Test
+    void stopsAtTheMaxAttempts() throws Exception {
+        start(builder -> builder.callPolicy(AgonesMethod.READY, AgonesCallPolicy.builder()
+                .maxAttempts(3)
+                .backoff(1, 5, 2, TimeUnit.MILLISECONDS)
+                .build()));
+        this.sidecar.setFailureRate("Ready", 1, Status.UNAVAILABLE);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> await(this.sdk.ready()));
+
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(error.getCause()).getCode());
+        assertEquals(3, this.sidecar.getCallCount("Ready"));
+    }
+
+    @Test
+    void stopsRetryingOnceTheBudgetIsExhausted() throws Exception {
+        // retries are allowed while more than 2 tokens are left
+        start(builder -> builder
+                .callPolicy(AgonesMethod.READY, FAST_RETRIES)
+                .retryBudget(new AgonesRetryBudget(4, 0.1)));
+        this.sidecar.setFailureRate("Ready", 1, Status.UNAVAILABLE);
+
+        // 4 tokens: the first failure leaves 3 and is retried, the retry leaves 2
+        assertThrows(ExecutionException.class, () -> await(this.sdk.ready()));
+        assertEquals(2, this.sidecar.getCallCount("Ready"));
+
+        // nothing is retried anymore
+        assertThrows(ExecutionException.class, () -> await(this.sdk.ready()));
+        assertEquals(3, this.sidecar.getCallCount("Ready"));
+        assertEquals(1.0, this.sdk.getRetryBudget().getTokens());
+
+        this.sidecar.clearFaults();
+        await(this.sdk.ready());
+        assertEquals(4, this.sidecar.getCallCount("Ready"));
+        assertEquals(1.1, this.sdk.getRetryBudget().getTokens());
+    }
+
+    @Test
+    void hedgesASlowAttempt() throws Exception {
+        start(builder -> builder.callPolicy(AgonesMethod.GET_GAME_SERVER, AgonesCallPolicy.builder()
+                .maxAttempts(2)
+                .hedgeDelay(50, TimeUnit.MILLISECONDS)
+                .build()));
+        this.sidecar.setLatency("GetGameServer", 2, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        CompletableFuture<AgonesGameServer> gameServer = this.sdk.getGameServer();
+
+        // only the first attempt is slow
+        eventually(() -> this.sidecar.getCallCount("GetGameServer") == 1);
+        this.sidecar.clearFaults();
+
+        assertEquals("local", await(gameServer).getObjectMeta().getName());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, this.sidecar.getCallCount("GetGameServer"));
+    }
+
+    @Test
+    void failsAScheduledRetryOnClose() throws Exception {
+        start(builder -> builder.callPolicy(AgonesMethod.READY, AgonesCallPolicy.builder()
+                .backoff(30, 30, 2, TimeUnit.SECONDS)
+                .build()));
+        this.sidecar.failNext("Ready", 1, Status.UNAVAILABLE);
+
+        CompletableFuture<Void> ready = this.sdk.ready();
+        eventually(() -> this.sidecar.getCallCount("Ready") == 1);
+
+        this.sdk.close();
+
+        // failed by the close, long before the backoff elapsed
+        ExecutionException error = assertThrows(ExecutionException.class, () -> await(ready));
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals(1, this.sidecar.getCallCount("Ready"));
+    }
+
+    private void start(Consumer<AgonesSDK.Builder> configuration) throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+
+        AgonesSDK.Builder builder = AgonesSDK.builder()
+                .channel(this.channel)
+                .directExecutor();
+        configuration.accept(builder);
+
+        this.sdk = builder.build();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link AgonesDispatchScheduler} against a {@link FakeAgonesSidecar} with injected latency
+ */
+class AgonesDispatchSchedulerTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.sdk != null) {
+            this.sdk.close();
+        }
+        if (this.channel != null) {
+            this.channel.shutdownNow();
+        }
+        if (this.sidecar != null) {
+            this.sidecar.close();
+        }
+    }
+
+    @Test
+    void lifecycleAndHealthOvertakeAMetadataBacklog() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .maxConcurrent(AgonesCallPriority.METADATA, 1)
+                .build());
+        this.sidecar.setLatency("SetLabel", 50, TimeUnit.MILLISECONDS);
+
+        List<CompletableFuture<Void>> labels = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            labels.add(this.sdk.setLabel("key-" + i, "value"));
+        }
+
+        assertEquals(1, scheduler.getInFlight(AgonesCallPriority.METADATA));
+        assertEquals(19, scheduler.getQueueDepth(AgonesCallPriority.METADATA));
+
+        await(this.sdk.ready());
+        this.sdk.health();
+        eventually(() -> this.sidecar.getHealthPingCount() > 0);
+
+        // both went through while most of the backlog, a second long, was still queued
+        assertTrue(this.sidecar.getCallCount("SetLabel") < 20);
+        assertTrue(scheduler.getQueueDepth(AgonesCallPriority.METADATA) > 0);
+        assertEquals("Ready", this.sidecar.getState());
+
+        for (CompletableFuture<Void> label : labels) {
+            await(label);
+        }
+        assertEquals(20, this.sidecar.getCallCount("SetLabel"));
+    }
+
+    @Test
+    void limitsTheConcurrencyOfEachClassOnly() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .maxConcurrent(AgonesCallPriority.PLAYER, 2)
+                .build());
+        this.sidecar.setLatency("GetPlayerCount", 100, TimeUnit.MILLISECONDS);
+        this.sidecar.setLatency("SetLabel", 100, TimeUnit.MILLISECONDS);
+
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            counts.add(this.sdk.alpha().getPlayerCount());
+        }
+        CompletableFuture<Void> label = this.sdk.setLabel("key", "value");
+
+        assertEquals(2, scheduler.getInFlight(AgonesCallPriority.PLAYER));
+        assertEquals(8, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+        // not held back by the full player class
+        assertEquals(1, scheduler.getInFlight(AgonesCallPriority.METADATA));
+
+        for (CompletableFuture<Long> count : counts) {
+            await(count);
+            assertTrue(scheduler.getInFlight(AgonesCallPriority.PLAYER) <= 2);
+        }
+        await(label);
+
+        eventually(() -> scheduler.getInFlight(AgonesCallPriority.PLAYER) == 0);
+        assertEquals(10, this.sidecar.getCallCount("GetPlayerCount"));
+    }
+
+    @Test
+    void pacesCallsAtTheRateLimit() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .rateLimit(AgonesCallPriority.METADATA, 20, 1)
+                .build());
+
+        long start = System.nanoTime();
+
+        List<CompletableFuture<Void>> labels = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            labels.add(this.sdk.setLabel("key-" + i, "value"));
+        }
+        for (CompletableFuture<Void> label : labels) {
+            await(label);
+        }
+
+        // a call every 50 milliseconds after the first one
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(400), "Sent in " + elapsed + "ns");
+        assertEquals(10, this.sidecar.getCallCount("SetLabel"));
+        assertEquals(10, scheduler.getWaitTime(AgonesCallPriority.METADATA).getCount());
+    }
+
+    @Test
+    void refillsTheBurstAfterAnIdlePeriod() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .rateLimit(AgonesCallPriority.PLAYER, 5, 5)
+                .build());
+
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            counts.add(this.sdk.alpha().getPlayerCount());
+        }
+
+        // the burst is sent right away, the 6th call waits about 200 milliseconds for a token
+        assertEquals(5, this.sidecar.getCallCount("GetPlayerCount"));
+        assertEquals(1, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+        for (CompletableFuture<Long> count : counts) {
+            await(count);
+        }
+
+        Thread.sleep(1100);
+
+        for (int i = 0; i < 5; i++) {
+            this.sdk.alpha().getPlayerCount();
+        }
+        assertEquals(0, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+        assertEquals(11, this.sidecar.getCallCount("GetPlayerCount"));
+    }
+
+    @Test
+    void releasesCancelledQueuedCalls() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .maxConcurrent(AgonesCallPriority.PLAYER, 1)
+                .build());
+        this.sidecar.setLatency("GetPlayerCount", 200, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Long> first = this.sdk.alpha().getPlayerCount();
+        CompletableFuture<Long> cancelled = this.sdk.alpha().getPlayerCount();
+        assertEquals(1, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+
+        cancelled.cancel(false);
+        assertEquals(0, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+
+        await(first);
+        await(this.sdk.alpha().getPlayerCount());
+
+        // the cancelled call was never sent, nor kept a slot
+        assertEquals(2, this.sidecar.getCallCount("GetPlayerCount"));
+        eventually(() -> scheduler.getInFlight(AgonesCallPriority.PLAYER) == 0);
+    }
+
+    @Test
+    void failsTheQueuedCallsOnClose() throws Exception {
+        AgonesDispatchScheduler scheduler = start(AgonesDispatchPolicy.builder()
+                .maxConcurrent(AgonesCallPriority.PLAYER, 1)
+                .build());
+        this.sidecar.setLatency("GetPlayerCount", 200, TimeUnit.MILLISECONDS);
+
+        this.sdk.alpha().getPlayerCount();
+        CompletableFuture<Long> queued = this.sdk.alpha().getPlayerCount();
+        assertEquals(1, scheduler.getQueueDepth(AgonesCallPriority.PLAYER));
+
+        this.sdk.close();
+
+        assertThrows(ExecutionException.class, () -> await(queued));
+        assertEquals(1, this.sidecar.getCallCount("GetPlayerCount"));
+    }
+
+    private AgonesDispatchScheduler start(AgonesDispatchPolicy policy) throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        this.sdk = AgonesSDK.builder()
+                .channel(this.channel)
+                .directExecutor()
+                .build();
+
+        return this.sdk.enableDispatchScheduler(policy);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package dev.agones.sdk;
+
+import dev.agones.sdk.testing.FakeAgonesSidecar;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link AgonesLifecycle} against a {@link FakeAgonesSidecar}, which publishes every state change
+ * on the watch stream before replying to the call
+ */
+class AgonesLifecycleTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private FakeAgonesSidecar sidecar;
+    private ManagedChannel channel;
+    private AgonesSDK sdk;
+    private AgonesLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.sidecar = FakeAgonesSidecar.inProcess();
+        this.channel = this.sidecar.newChannel();
+        this.sdk = AgonesSDK.builder()
+                .channel(this.channel)
+                .directExecutor()
+                .build();
+        this.lifecycle = this.sdk.enableLifecycle();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.sdk.close();
+        this.channel.shutdownNow();
+        this.sidecar.close();
+    }
+
+    @Test
+    void collapsesTheStateAlreadyRequested() throws Exception {
+        this.sidecar.setLatency("Ready", 100, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Void> first = this.sdk.ready();
+        CompletableFuture<Void> second = this.sdk.ready();
+
+        assertSame(first, second);
+        await(first);
+        assertEquals(1, this.sidecar.getCallCount("Ready"));
+        assertEquals(1, this.lifecycle.getSentCount());
+        assertEquals(1, this.lifecycle.getCollapsedCount());
+    }
+
+    @Test
+    void restartsTheReservationInsteadOfCollapsingIt() throws Exception {
+        this.sdk.reserve(30);
+        await(this.sdk.reserve(30));
+
+        assertEquals(2, this.sidecar.getCallCount("Reserve"));
+        assertEquals(0, this.lifecycle.getCollapsedCount());
+    }
+
+    @Test
+    void rejectsEverythingButShutdownAfterShutdown() throws Exception {
+        this.sdk.ready();
+        CompletableFuture<Void> shutdown = this.sdk.shutdown();
+
+        assertIllegalState(this.sdk.ready());
+        assertIllegalState(this.sdk.allocate());
+        assertIllegalState(this.sdk.reserve(10));
+        assertSame(shutdown, this.sdk.shutdown());
+
+        await(shutdown);
+        assertEquals(1, this.sidecar.getCallCount("Ready"));
+        assertEquals(0, this.sidecar.getCallCount("Allocate"));
+        assertEquals(0, this.sidecar.getCallCount("Reserve"));
+        assertEquals(1, this.sidecar.getCallCount("Shutdown"));
+        assertEquals(3, this.lifecycle.getRejectedCount());
+    }
+
+    @Test
+    void rejectsReservingAnAllocatedGameServer() throws Exception {
+        await(this.sdk.allocate());
+
+        assertIllegalState(this.sdk.reserve(10));
+        assertEquals(0, this.sidecar.getCallCount("Reserve"));
+        assertEquals("Allocated", this.sidecar.getState());
+    }
+
+    @Test
+    void sendsEveryTransitionOnceAndInOrder() throws Exception {
+        this.sidecar.setLatency("Reserve", 1, TimeUnit.MILLISECONDS);
+
+        int threads = 8;
+        int perThread = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Thread> requesters = new ArrayList<>();
+
+        // Reservations are never collapsed, so every one of them goes through the append/drain handoff
+        for (int i = 0; i < threads; i++) {
+            Thread requester = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                for (int j = 0; j < perThread; j++) {
+                    CompletableFuture<Void> future = this.sdk.reserve(0);
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            });
+            requesters.add(requester);
+            requester.start();
+        }
+
+        start.countDown();
+        for (Thread requester : requesters) {
+            requester.join();
+        }
+
+        await(this.lifecycle.idle());
+
+        for (CompletableFuture<Void> future : futures) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        assertEquals(threads * perThread, this.sidecar.getCallCount("Reserve"));
+        assertEquals(threads * perThread, this.lifecycle.getSentCount());
+
+        // the transition requested after the backlog is sent last
+        await(this.sdk.allocate());
+        assertEquals("Allocated", this.sidecar.getState());
+    }
+
+    @Test
+    void reanchorsOnTheObservedStateAfterAFailure() throws Exception {
+        await(this.sdk.ready());
+        await(this.lifecycle.whenState(AgonesLifecycleState.READY));
+
+        this.sidecar.failNext("Allocate", 1, Status.INTERNAL);
+
+        CompletableFuture<Void> allocate = this.sdk.allocate();
+        ExecutionException error = assertThrows(ExecutionException.class, () -> await(allocate));
+        assertTrue(error.getCause() instanceof StatusRuntimeException);
+
+        // validated against the Ready state the sidecar still reports, not the failed Allocated one
+        assertEquals(AgonesLifecycleState.READY, this.lifecycle.getRequestedState());
+        await(this.sdk.reserve(30));
+        assertEquals("Reserved", this.sidecar.getState());
+
+        await(this.sdk.allocate());
+        assertEquals("Allocated", this.sidecar.getState());
+    }
+
+    @Test
+    void followsAnAllocationMadeOutsideOfTheSdk() throws Exception {
+        await(this.sdk.ready());
+        await(this.lifecycle.whenState(AgonesLifecycleState.READY));
+
+        this.sidecar.updateGameServer(builder -> builder.getStatusBuilder().setState("Allocated"));
+
+        eventually(() -> this.lifecycle.getRequestedState() == AgonesLifecycleState.ALLOCATED);
+        assertEquals(AgonesLifecycleState.ALLOCATED, this.lifecycle.getState());
+
+        // collapsed onto the observed transition, which is never sent
+        CompletableFuture<Void> allocate = this.sdk.allocate();
+        assertTrue(allocate.isDone() && !allocate.isCompletedExceptionally());
+        assertEquals(0, this.sidecar.getCallCount("Allocate"));
+        assertEquals(1, this.lifecycle.getCollapsedCount());
+
+        assertIllegalState(this.sdk.reserve(10));
+    }
+
+    @Test
+    void followsTheEndOfAReservation() throws Exception {
+        await(this.sdk.reserve(1));
+        await(this.lifecycle.whenState(AgonesLifecycleState.RESERVED));
+
+        // the sidecar moves back to Ready once the reservation elapsed
+        await(this.lifecycle.whenState(AgonesLifecycleState.READY));
+        eventually(() -> this.lifecycle.getRequestedState() == AgonesLifecycleState.READY);
+
+        assertSame(this.lifecycle.idle(), this.sdk.ready());
+        assertEquals(0, this.sidecar.getCallCount("Ready"));
+    }
+
+    @Test
+    void ignoresTheWatchWhileATransitionIsPending() throws Exception {
+        this.sidecar.setLatency("Allocate", 200, TimeUnit.MILLISECONDS);
+
+        await(this.sdk.ready());
+        CompletableFuture<Void> allocate = this.sdk.allocate();
+
+        // reported while the allocation is pending, it must not replace it
+        this.sidecar.updateGameServer(builder -> builder.getStatusBuilder().setState("Scheduled"));
+        eventually(() -> this.lifecycle.getState() == AgonesLifecycleState.SCHEDULED);
+
+        assertEquals(AgonesLifecycleState.ALLOCATED, this.lifecycle.getRequestedState());
+        await(allocate);
+        assertEquals(AgonesLifecycleState.ALLOCATED, this.lifecycle.getRequestedState());
+    }
+
+    @Test
+    void neverUndoesAShutdown() throws Exception {
+        await(this.sdk.shutdown());
+
+        this.sidecar.updateGameServer(builder -> builder.getStatusBuilder().setState("Ready"));
+        eventually(() -> this.lifecycle.getState() == AgonesLifecycleState.READY);
+
+        assertEquals(AgonesLifecycleState.SHUTDOWN, this.lifecycle.getRequestedState());
+        assertIllegalState(this.sdk.ready());
+    }
+
+    private static void assertIllegalState(CompletableFuture<Void> future) {
+        assertTrue(future.isCompletedExceptionally());
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> await(future));
+        assertTrue(error.getCause() instanceof IllegalStateException);
+    }
+
+    private static void await(CompletableFuture<Void> future) throws Exception {
+        future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}